@@ -22,6 +22,8 @@ dependencies.implementation("com.google.code.gson:gson:2.9.0")
 
 dependencies.implementation("com.formdev:flatlaf:2.3")
 
+dependencies.testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
+
 java {
     modularity.inferModulePath.set(true)
 }
@@ -32,6 +34,12 @@ sourceSets.main {
     java.srcDirs("src/main/java")
 }
 
+/* Tests run on the classpath, headless, so they don't need a display or the module path. */
+tasks.test {
+    useJUnitPlatform()
+    systemProperty("java.awt.headless", "true")
+}
+
 /* The Runtime plugin is used to configure the executables and other distributions for your
  * project. */
 jlink {
@@ -1,10 +1,13 @@
 package tech.fastj.gj;
 
 import tech.fastj.engine.FastJEngine;
+import tech.fastj.gj.library.SongLibrary;
 import tech.fastj.gj.scenes.editor.SongEditor;
 import tech.fastj.gj.scenes.game.MainGame;
 import tech.fastj.gj.scenes.information.InformationMenu;
+import tech.fastj.gj.scenes.loading.LoadingScene;
 import tech.fastj.gj.scenes.mainmenu.MainMenu;
+import tech.fastj.gj.scenes.settings.Calibration;
 import tech.fastj.gj.scenes.settings.Settings;
 import tech.fastj.gj.scenes.songpicker.SongPicker;
 import tech.fastj.graphics.display.FastJCanvas;
@@ -21,8 +24,10 @@ public class GameManager extends SceneManager {
     private final SongPicker songPicker = new SongPicker();
     private final InformationMenu informationMenu = new InformationMenu();
     private final Settings settings = new Settings();
+    private final Calibration calibration = new Calibration();
     private final SongEditor songEditor = new SongEditor();
     private final MainGame mainGame = new MainGame();
+    private final LoadingScene loadingScene = new LoadingScene();
 
     @Override
     public void init(FastJCanvas canvas) {
@@ -35,12 +40,16 @@ public class GameManager extends SceneManager {
 
         FastJEngine.<SimpleDisplay>getDisplay().getWindow().setResizable(false);
         canvas.modifyRenderSettings(RenderSettings.Antialiasing.Enable);
+        SongLibrary.getInstance().start();
+
         addScene(mainMenu);
         addScene(songPicker);
         addScene(settings);
+        addScene(calibration);
         addScene(informationMenu);
         addScene(mainGame);
         addScene(songEditor);
+        addScene(loadingScene);
         setCurrentScene(mainMenu);
         loadCurrentScene();
     }
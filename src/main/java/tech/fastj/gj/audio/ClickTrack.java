@@ -0,0 +1,62 @@
+package tech.fastj.gj.audio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/** Synthesizes click tracks -- evenly spaced short beeps with the first of every four accented -- as WAV files. */
+public class ClickTrack {
+
+    private static final float SampleRate = 44_100f;
+    private static final double ClickSeconds = 0.03d;
+    private static final double ClickFrequency = 1_000d;
+    private static final double AccentFrequency = 1_500d;
+    private static final double TailSeconds = 0.5d;
+
+    /**
+     * Writes a click track to a temporary WAV file, which is deleted when the game exits.
+     * <p>
+     * The first click starts at the very beginning of the file, so it plays the moment playback starts.
+     *
+     * @param bpm        The click track's tempo.
+     * @param clickCount The number of clicks.
+     * @return The path to the click track.
+     * @throws IOException If the file couldn't be written.
+     */
+    public static Path write(double bpm, int clickCount) throws IOException {
+        double secPerBeat = 60d / bpm;
+        int frameCount = (int) (SampleRate * (secPerBeat * (clickCount - 1) + ClickSeconds + TailSeconds));
+        int clickFrames = (int) (SampleRate * ClickSeconds);
+        byte[] samples = new byte[frameCount * 2];
+
+        for (int click = 0; click < clickCount; click++) {
+            int clickStart = (int) Math.round(click * secPerBeat * SampleRate);
+            double frequency = click % 4 == 0 ? AccentFrequency : ClickFrequency;
+
+            for (int frame = 0; frame < clickFrames && clickStart + frame < frameCount; frame++) {
+                double time = frame / (double) SampleRate;
+                double envelope = Math.exp(-time / (ClickSeconds / 5d));
+                short sample = (short) (Math.sin(2d * Math.PI * frequency * time) * envelope * Short.MAX_VALUE * 0.8d);
+
+                int sampleIndex = (clickStart + frame) * 2;
+                samples[sampleIndex] = (byte) sample;
+                samples[sampleIndex + 1] = (byte) (sample >> 8);
+            }
+        }
+
+        AudioFormat format = new AudioFormat(SampleRate, 16, 1, true, false);
+        Path clickTrackPath = Files.createTempFile("click-track", ".wav");
+        clickTrackPath.toFile().deleteOnExit();
+
+        try (AudioInputStream audioStream = new AudioInputStream(new ByteArrayInputStream(samples), format, frameCount)) {
+            AudioSystem.write(audioStream, AudioFileFormat.Type.WAVE, clickTrackPath.toFile());
+        }
+
+        return clickTrackPath;
+    }
+}
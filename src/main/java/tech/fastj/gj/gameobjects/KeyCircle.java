@@ -1,6 +1,8 @@
 package tech.fastj.gj.gameobjects;
 
 import tech.fastj.engine.FastJEngine;
+import tech.fastj.gj.util.Sprite;
+import tech.fastj.gj.util.SpriteCache;
 import tech.fastj.graphics.game.GameObject;
 import tech.fastj.graphics.util.DrawUtil;
 import tech.fastj.graphics.util.PointsAndAlts;
@@ -21,6 +23,8 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
 
 public class KeyCircle extends GameObject implements KeyboardActionListener, Behavior {
 
@@ -32,14 +36,21 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
     public static final Color DefaultOutlineColor = Color.black;
 
     private static final Pointf OriginInstance = Pointf.origin();
+    private static final AffineTransform IdentityTransform = new AffineTransform();
+    /** How many steps a flash fades back to the base color in, each drawn as its own sprite. */
+    private static final int FadeLevels = 16;
 
     private final Keys key;
-    private Color fillColor;
     private Color outlineColor;
     private Color baseColor;
+    private Color flashColor;
+    private float flashAmount;
     private float deltaTimeBuildup;
     private BasicStroke outlineStroke;
     private final Font font;
+    private final float radius;
+    /** The sprite of each fade level, from the base color at {@code 0} to the flash color at {@link #FadeLevels}. */
+    private Sprite[] fadeSprites;
 
     public KeyCircle(Keys key, float radius, String fontName, BehaviorHandler handler) {
         PointsAndAlts circleMesh = DrawUtil.createCircle(0f, radius, radius);
@@ -47,6 +58,8 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
 
         this.key = key;
         this.font = new Font(fontName, Font.BOLD, 12);
+        this.radius = radius;
+        this.flashColor = Color.white;
         setFill(DefaultFill);
 
         addLateBehavior(this, handler);
@@ -69,10 +82,12 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
      * @return The {@code KeyCircle} instance, for method chaining.
      */
     public KeyCircle setFill(Color newColor, boolean changeBase) {
-        fillColor = newColor;
         if (changeBase) {
-            baseColor = new Color(fillColor.getRed(), fillColor.getGreen(), fillColor.getBlue(), fillColor.getAlpha());
+            baseColor = new Color(newColor.getRed(), newColor.getGreen(), newColor.getBlue(), newColor.getAlpha());
+            flashAmount = 0f;
+            fadeSprites = null;
         } else {
+            flash(newColor);
             deltaTimeBuildup = 0f;
         }
         return this;
@@ -86,6 +101,7 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
      */
     public KeyCircle setOutlineColor(Color newOutlineColor) {
         outlineColor = newOutlineColor;
+        fadeSprites = null;
         return this;
     }
 
@@ -97,6 +113,7 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
      */
     public KeyCircle setOutlineStroke(BasicStroke newOutlineStroke) {
         outlineStroke = newOutlineStroke;
+        fadeSprites = null;
         return this;
     }
 
@@ -110,6 +127,7 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
     public KeyCircle setOutline(BasicStroke newOutlineStroke, Color newOutlineColor) {
         outlineStroke = newOutlineStroke;
         outlineColor = newOutlineColor;
+        fadeSprites = null;
         return this;
     }
 
@@ -119,7 +137,7 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
      * @return The {@code Paint} set for this polygon.
      */
     public Paint getFill() {
-        return fillColor;
+        return flashAmount == 0f ? baseColor : DrawUtil.colorLerp(baseColor, flashColor, flashAmount);
     }
 
     /**
@@ -147,7 +165,7 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
     @Override
     public void onKeyRecentlyPressed(KeyboardStateEvent keyboardStateEvent) {
         if (keyboardStateEvent.getKey() == key) {
-            fillColor = Color.white;
+            flash(Color.white);
         }
     }
 
@@ -161,43 +179,111 @@ public class KeyCircle extends GameObject implements KeyboardActionListener, Beh
 
     @Override
     public void update(GameObject gameObject) {
-        if (!fillColor.equals(baseColor)) {
+        if (flashAmount > 0f) {
             deltaTimeBuildup = Maths.clamp(deltaTimeBuildup + (FastJEngine.getDeltaTime() / 10f), 0f, 1f);
-            fillColor = DrawUtil.colorLerp(fillColor, baseColor, deltaTimeBuildup);
+            flashAmount *= 1f - deltaTimeBuildup;
+
+            // past the last fade level, the flash is indistinguishable from the base color
+            if (flashAmount < 0.5f / FadeLevels) {
+                flashAmount = 0f;
+            }
         }
     }
 
+    /**
+     * Draws the sprite of the circle's current fade level. Key circles are only ever translated, so the sprite is
+     * copied to the circle's translation rather than drawn through its full transformation.
+     */
     @Override
     public void render(Graphics2D g) {
-        AffineTransform oldTransform = (AffineTransform) g.getTransform().clone();
+        if (fadeSprites == null) {
+            fadeSprites = createFadeSprites();
+        }
+
+        AffineTransform oldTransform = g.getTransform();
+        Paint oldPaint = g.getPaint();
+        Stroke oldStroke = g.getStroke();
         Font oldFont = g.getFont();
-        Color oldColor = g.getColor();
 
+        Pointf translation = getTranslation();
+        g.setTransform(IdentityTransform);
+        fadeSprites[Math.round(flashAmount * FadeLevels)].draw(g, oldTransform, translation.x, translation.y);
+
+        g.setTransform(oldTransform);
+        g.setPaint(oldPaint);
+        g.setStroke(oldStroke);
+        g.setFont(oldFont);
+    }
+
+    private void flash(Color newFlashColor) {
+        if (!newFlashColor.equals(flashColor)) {
+            flashColor = newFlashColor;
+            fadeSprites = null;
+        }
+
+        flashAmount = 1f;
+    }
+
+    private Sprite[] createFadeSprites() {
+        // cached sprites outlive this circle, so they're painted from copies of its geometry rather than the circle
+        Path2D.Float circlePath = (Path2D.Float) collisionPath.clone();
+        Rectangle2D.Float spriteBounds = (Rectangle2D.Float) circlePath.getBounds2D();
+        float circleHeight = spriteBounds.height;
+        float strokeMargin = outlineStroke.getLineWidth() / 2f + 1f;
+        spriteBounds.setRect(
+            spriteBounds.x - strokeMargin,
+            spriteBounds.y - strokeMargin,
+            spriteBounds.width + strokeMargin * 2f,
+            spriteBounds.height + strokeMargin * 2f
+        );
+
+        Sprite[] sprites = new Sprite[FadeLevels + 1];
+        Color spriteOutlineColor = outlineColor;
+        BasicStroke spriteOutlineStroke = outlineStroke;
+        for (int level = 0; level <= FadeLevels; level++) {
+            Color spriteFill = level == 0 ? baseColor : DrawUtil.colorLerp(baseColor, flashColor, (float) level / FadeLevels);
+            SpriteCache.SpriteKey spriteKey = new SpriteCache.SpriteKey(
+                "key circle " + font.getName(),
+                radius,
+                spriteFill.getRGB(),
+                spriteOutlineColor.getRGB(),
+                spriteOutlineStroke.getLineWidth(),
+                key.name()
+            );
+
+            sprites[level] = SpriteCache.getInstance().get(
+                spriteKey,
+                spriteBounds,
+                spriteGraphics -> paintCircle(spriteGraphics, circlePath, circleHeight, font, key.name(), spriteFill, spriteOutlineColor, spriteOutlineStroke)
+            );
+        }
+
+        return sprites;
+    }
+
+    private static void paintCircle(Graphics2D g, Path2D.Float circlePath, float circleHeight, Font font, String label,
+                                    Color fill, Color outline, BasicStroke stroke) {
         FontMetrics fm = g.getFontMetrics(font);
-        int textWidth = fm.stringWidth(key.name());
+        int textWidth = fm.stringWidth(label);
         int textHeight = fm.getHeight();
 
-        g.transform(getTransformation());
-
-        g.setPaint(fillColor);
-        g.fill(collisionPath);
+        g.setPaint(fill);
+        g.fill(circlePath);
 
-        g.setStroke(outlineStroke);
-        g.setPaint(outlineColor);
-        g.draw(collisionPath);
+        g.setStroke(stroke);
+        g.setPaint(outline);
+        g.draw(circlePath);
 
         g.setFont(font);
         g.setPaint(Color.black);
-        g.drawString(key.name(), OriginInstance.x - (textWidth / 2f), ((textHeight * 0.5f) + height()) / 2f);
-
-        g.setTransform(oldTransform);
-        g.setFont(oldFont);
-        g.setColor(oldColor);
+        g.drawString(label, OriginInstance.x - (textWidth / 2f), ((textHeight * 0.5f) + circleHeight) / 2f);
     }
 
     @Override
     public void destroy(GameHandler origin) {
-        fillColor = DefaultFill;
+        baseColor = DefaultFill;
+        flashAmount = 0f;
+        fadeSprites = null;
         outlineColor = DefaultOutlineColor;
         outlineStroke = DefaultOutlineStroke;
         origin.inputManager().removeKeyboardActionListener(this);
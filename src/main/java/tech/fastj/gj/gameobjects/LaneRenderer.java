@@ -0,0 +1,375 @@
+package tech.fastj.gj.gameobjects;
+
+import tech.fastj.gj.rhythm.Conductor;
+import tech.fastj.gj.rhythm.GeneralSongInfo;
+import tech.fastj.gj.util.Sprite;
+import tech.fastj.gj.util.SpriteCache;
+import tech.fastj.graphics.game.GameObject;
+import tech.fastj.graphics.util.DrawUtil;
+import tech.fastj.graphics.util.PointsAndAlts;
+import tech.fastj.math.Pointf;
+import tech.fastj.systems.behaviors.Behavior;
+import tech.fastj.systems.control.GameHandler;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves and draws every falling music note of a scene as a single game object.
+ * <p>
+ * Notes aren't objects of their own: each one is a slot in a set of parallel arrays -- its target beat, lane, color
+ * and current height -- kept in the order the notes were spawned. The slots are reused by every note spawned, across
+ * replays too, and are sized for a song's busiest stretch when its conductor is attached. Each frame, one loop moves every note down its lane
+ * and drops the ones that have fallen past their lane key, and one render pass draws them all. Note colors come from
+ * a fixed palette, and each color's note is drawn once into a {@link Sprite}, so drawing a note is a single image
+ * copy and spawning one allocates nothing unless the arrays have to grow. The note outline and emblem those sprites are
+ * drawn from are built once per note size, in local space, and shared by every renderer.
+ * <p>
+ * A renderer outlives its conductor: {@link #attach attaching} a new one, such as when a song is replayed, drops every
+ * note still falling from the last conductor. Seeking the conductor drops them too, before it spawns the notes from
+ * the beat it seeked to.
+ */
+public class LaneRenderer extends GameObject implements Behavior {
+
+    /** {@link Stroke} representing the outline stroke of each note, as a 5px outline with rounded edges. */
+    public static final BasicStroke NoteOutlineStroke = new BasicStroke(5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f);
+    /** {@link Color} representing the color of each note's emblem. */
+    public static final Color EmblemColor = Color.black;
+
+    public static final Pointf[] MusicNoteEmblem = new Pointf[]{
+            new Pointf(3f, 0f),
+            new Pointf(5f, 2f),
+            new Pointf(5.1f, 2.5f),
+            new Pointf(3.5f, 1f),
+            new Pointf(3.5f, 5.5f),
+            new Pointf(2.5f, 6.5f),
+            new Pointf(1f, 6.5f),
+            new Pointf(0f, 6f),
+            new Pointf(-0.5f, 5f),
+            new Pointf(0f, 4f),
+            new Pointf(1f, 3.5f),
+            new Pointf(2.5f, 3.5f),
+            new Pointf(2.5f, 0f)
+    };
+
+    private static final int PaletteSize = 32;
+    /** Note colors, shared by every renderer so their sprites are too. */
+    private static final Color[] FillPalette = new Color[PaletteSize];
+    private static final Color[] OutlinePalette = new Color[PaletteSize];
+    private static final AffineTransform IdentityTransform = new AffineTransform();
+    /** Note geometry for each note size, shared by every renderer of that size. */
+    private static final Map<Float, NoteGeometry> Geometries = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < PaletteSize; i++) {
+            FillPalette[i] = DrawUtil.randomColor();
+            OutlinePalette[i] = FillPalette[i].darker();
+        }
+    }
+
+    /** How far a note's outline reaches above its position, and its height. */
+    private final float noteTop;
+    private final float noteHeight;
+    /** The sprite of each palette color's note. */
+    private final Sprite[] noteSprites;
+
+    private double[] noteBeats;
+    private double[] spawnBeats;
+    private int[] noteLanes;
+    private int[] colorIndices;
+    private float[] noteYs;
+    private int noteCount;
+    private int nextColorIndex;
+
+    private Conductor conductor;
+    private int seekCount;
+    private float laneStartX;
+    private float laneSpacing;
+    private float laneY;
+    private double travelDistance;
+
+    /**
+     * Creates a lane renderer with no notes, adding it to the provided scene.
+     *
+     * @param origin          The scene to add the renderer to.
+     * @param noteSize        The size of each note.
+     * @param areaSize        The size of the area notes fall in, starting from the origin.
+     * @param initialCapacity How many notes to make room for before growing.
+     */
+    public LaneRenderer(GameHandler origin, float noteSize, Pointf areaSize, int initialCapacity) {
+        NoteGeometry geometry = Geometries.computeIfAbsent(noteSize, LaneRenderer::createGeometry);
+        this.noteTop = geometry.top();
+        this.noteHeight = geometry.height();
+
+        this.noteSprites = new Sprite[PaletteSize];
+        for (int i = 0; i < PaletteSize; i++) {
+            Color fill = FillPalette[i];
+            Color outline = OutlinePalette[i];
+            SpriteCache.SpriteKey spriteKey = new SpriteCache.SpriteKey(
+                "note",
+                noteSize,
+                fill.getRGB(),
+                outline.getRGB(),
+                NoteOutlineStroke.getLineWidth(),
+                ""
+            );
+
+            noteSprites[i] = SpriteCache.getInstance().get(spriteKey, geometry.spriteBounds(), g -> paintNote(g, geometry, fill, outline));
+        }
+
+        int capacity = Math.max(initialCapacity, 1);
+        this.noteBeats = new double[capacity];
+        this.spawnBeats = new double[capacity];
+        this.noteLanes = new int[capacity];
+        this.colorIndices = new int[capacity];
+        this.noteYs = new float[capacity];
+
+        setCollisionPath(DrawUtil.createPath(DrawUtil.createBox(Pointf.origin(), areaSize)));
+        addLateBehavior(this, origin);
+        origin.drawableManager().addGameObject(this);
+    }
+
+    /**
+     * Sets the conductor whose notes the renderer draws, dropping every note still falling.
+     *
+     * @param conductor      The conductor.
+     * @param laneStartX     The x position of lane {@code 0}.
+     * @param laneSpacing    The distance between neighbouring lanes.
+     * @param laneY          The y position notes start falling from.
+     * @param travelDistance How far notes fall before reaching their lane key.
+     */
+    public void attach(Conductor conductor, float laneStartX, float laneSpacing, float laneY, double travelDistance) {
+        this.conductor = conductor;
+        this.seekCount = conductor.getSeekCount();
+        this.laneStartX = laneStartX;
+        this.laneSpacing = laneSpacing;
+        this.laneY = laneY;
+        this.travelDistance = travelDistance;
+        clear();
+
+        // the slots are sized for the song's busiest stretch up front, so spawning never has to grow them mid-song
+        ensureCapacity(peakNoteCount(conductor.musicInfo));
+    }
+
+    /**
+     * Starts a note falling down its lane, from the top.
+     *
+     * @param noteBeat The beat the note reaches its lane key on.
+     * @param noteLane The note's lane.
+     */
+    public void spawn(double noteBeat, int noteLane) {
+        // the conductor respawns notes in the same update it seeks, so stale notes are dropped before the first of them
+        dropNotesBeforeSeek();
+        if (noteCount == noteBeats.length) {
+            grow();
+        }
+
+        noteBeats[noteCount] = noteBeat;
+        spawnBeats[noteCount] = noteBeat - conductor.musicInfo.getBeatPeekCount();
+        noteLanes[noteCount] = noteLane;
+        colorIndices[noteCount] = nextColorIndex;
+        noteYs[noteCount] = laneY;
+        noteCount++;
+
+        // the palette is already random, so stepping through it by a prime keeps neighbouring notes distinct
+        nextColorIndex = (nextColorIndex + 7) % PaletteSize;
+    }
+
+    /** Drops every falling note. */
+    public void clear() {
+        noteCount = 0;
+    }
+
+    /** Drops every falling note if the conductor has seeked since the renderer last checked. */
+    private void dropNotesBeforeSeek() {
+        if (conductor.getSeekCount() != seekCount) {
+            seekCount = conductor.getSeekCount();
+            clear();
+        }
+    }
+
+    /** Gets the number of notes currently falling. */
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    /** Gets the number of notes the renderer has room for before it has to grow. */
+    public int getCapacity() {
+        return noteBeats.length;
+    }
+
+    /**
+     * Counts the most notes that are ever falling at once in the provided song. Every note falls for the same number of
+     * beats, so this is the most notes whose beats are closer together than that.
+     */
+    private int peakNoteCount(GeneralSongInfo songInfo) {
+        // matches when update drops a note: once it has fallen past its lane key by its own height
+        double fallingBeats = songInfo.getBeatPeekCount() * ((travelDistance + noteHeight - noteTop - laneY) / travelDistance);
+
+        int peakCount = 0;
+        int firstFalling = 0;
+        for (int i = 0; i < songInfo.getNotesLength(); i++) {
+            double noteBeat = songInfo.getNote(i);
+            while (noteBeat - songInfo.getNote(firstFalling) >= fallingBeats) {
+                firstFalling++;
+            }
+
+            peakCount = Math.max(peakCount, i - firstFalling + 1);
+        }
+
+        return peakCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > noteBeats.length) {
+            resize(capacity);
+        }
+    }
+
+    private void grow() {
+        resize(noteBeats.length * 2);
+    }
+
+    private void resize(int capacity) {
+        noteBeats = Arrays.copyOf(noteBeats, capacity);
+        spawnBeats = Arrays.copyOf(spawnBeats, capacity);
+        noteLanes = Arrays.copyOf(noteLanes, capacity);
+        colorIndices = Arrays.copyOf(colorIndices, capacity);
+        noteYs = Arrays.copyOf(noteYs, capacity);
+    }
+
+    @Override
+    public void init(GameObject gameObject) {
+    }
+
+    @Override
+    public void fixedUpdate(GameObject gameObject) {
+    }
+
+    @Override
+    public void update(GameObject gameObject) {
+        if (conductor == null) {
+            return;
+        }
+
+        // a seek that didn't respawn any notes yet still leaves the old ones stale
+        dropNotesBeforeSeek();
+        if (noteCount == 0) {
+            return;
+        }
+
+        float songPosition = (float) conductor.getTimingSnapshot().songPositionInBeats();
+        float removalY = (float) travelDistance + noteHeight;
+
+        // moves each note, and shifts the ones still falling down over the ones that have fallen past their lane
+        int keptCount = 0;
+        for (int i = 0; i < noteCount; i++) {
+            float spawnBeat = (float) spawnBeats[i];
+            float fallen = (songPosition - spawnBeat) / ((float) noteBeats[i] - spawnBeat);
+            float noteY = laneY + (float) travelDistance * fallen;
+            if (noteY + noteTop > removalY) {
+                continue;
+            }
+
+            if (keptCount != i) {
+                noteBeats[keptCount] = noteBeats[i];
+                spawnBeats[keptCount] = spawnBeats[i];
+                noteLanes[keptCount] = noteLanes[i];
+                colorIndices[keptCount] = colorIndices[i];
+            }
+            noteYs[keptCount] = noteY;
+            keptCount++;
+        }
+
+        noteCount = keptCount;
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        if (noteCount == 0) {
+            return;
+        }
+
+        AffineTransform deviceTransform = g.getTransform();
+        Paint oldPaint = g.getPaint();
+        Stroke oldStroke = g.getStroke();
+
+        // every note is a copy of its color's sprite, so the whole pass is one image copy per note
+        g.setTransform(IdentityTransform);
+        for (int i = 0; i < noteCount; i++) {
+            float noteX = laneStartX + noteLanes[i] * laneSpacing;
+            noteSprites[colorIndices[i]].draw(g, deviceTransform, noteX, noteYs[i]);
+        }
+
+        g.setStroke(oldStroke);
+        g.setPaint(oldPaint);
+        g.setTransform(deviceTransform);
+    }
+
+    private static void paintNote(Graphics2D g, NoteGeometry geometry, Color fill, Color outline) {
+        g.setPaint(fill);
+        g.fill(geometry.outline());
+
+        g.setStroke(NoteOutlineStroke);
+        g.setPaint(outline);
+        g.draw(geometry.outline());
+
+        g.setPaint(EmblemColor);
+        g.fill(geometry.emblem());
+    }
+
+    /** Builds a note's outline and emblem in local space, centered on the origin, along with their bounds. */
+    private static NoteGeometry createGeometry(float noteSize) {
+        PointsAndAlts outlineMesh = DrawUtil.createCircle(0f, 0f, noteSize);
+        Path2D.Float noteOutline = DrawUtil.createPath(outlineMesh.points(), outlineMesh.altIndexes());
+
+        Pointf[] noteEmblemMesh = new Pointf[MusicNoteEmblem.length];
+        for (int i = 0; i < MusicNoteEmblem.length; i++) {
+            noteEmblemMesh[i] = MusicNoteEmblem[i].copy()
+                    .add(0.5f)
+                    .divide(5.6f, 6.5f)
+                    .multiply(noteSize)
+                    .subtract(noteSize / 2f);
+        }
+        Path2D.Float noteEmblem = DrawUtil.createPath(noteEmblemMesh);
+
+        Rectangle2D outlineBounds = noteOutline.getBounds2D();
+        float strokeMargin = NoteOutlineStroke.getLineWidth() / 2f + 1f;
+        Rectangle2D.Float spriteBounds = new Rectangle2D.Float(
+            (float) outlineBounds.getMinX() - strokeMargin,
+            (float) outlineBounds.getMinY() - strokeMargin,
+            (float) outlineBounds.getWidth() + strokeMargin * 2f,
+            (float) outlineBounds.getHeight() + strokeMargin * 2f
+        );
+
+        return new NoteGeometry(noteOutline, noteEmblem, (float) outlineBounds.getMinY(), (float) outlineBounds.getHeight(), spriteBounds);
+    }
+
+    @Override
+    public void destroy() {
+        conductor = null;
+        noteCount = 0;
+    }
+
+    @Override
+    public void destroy(GameHandler origin) {
+        destroy();
+        super.destroyTheRest(origin);
+    }
+
+    /**
+     * A note's outline and emblem in local space, shared by every renderer with the same note size. They must not be
+     * modified.
+     */
+    private record NoteGeometry(Path2D.Float outline, Path2D.Float emblem, float top, float height, Rectangle2D.Float spriteBounds) {
+    }
+}
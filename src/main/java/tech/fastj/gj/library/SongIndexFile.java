@@ -0,0 +1,86 @@
+package tech.fastj.gj.library;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the song library's on-disk index: a compact binary list of every chart's {@link SongMetadata}.
+ * <p>
+ * The index records which songs directory it describes, and chart paths are stored relative to it. An index for a
+ * different directory, an older format version or a damaged file is treated as empty, so the library rescans instead.
+ */
+final class SongIndexFile {
+
+    private static final int Magic = 0x464A5349; // "FJSI"
+    private static final int Version = 1;
+
+    private SongIndexFile() {
+    }
+
+    static List<SongMetadata> read(Path indexFile, Path songsDirectory) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != Magic || input.readInt() != Version || !input.readUTF().equals(songsDirectory.toString())) {
+                return List.of();
+            }
+
+            int songCount = input.readInt();
+            List<SongMetadata> songs = new ArrayList<>(songCount);
+            for (int i = 0; i < songCount; i++) {
+                songs.add(new SongMetadata(
+                    songsDirectory.resolve(input.readUTF()),
+                    input.readUTF(),
+                    input.readUTF(),
+                    input.readDouble(),
+                    input.readInt(),
+                    input.readDouble(),
+                    input.readInt(),
+                    input.readLong(),
+                    input.readLong(),
+                    input.readLong()
+                ));
+            }
+
+            return songs;
+        } catch (NoSuchFileException exception) {
+            return List.of();
+        }
+    }
+
+    static void write(Path indexFile, Path songsDirectory, Collection<SongMetadata> songs) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+
+        // written beside the index and moved over it, so a crash mid-write never leaves a partial index behind
+        Path tempIndexFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempIndexFile)))) {
+            output.writeInt(Magic);
+            output.writeInt(Version);
+            output.writeUTF(songsDirectory.toString());
+            output.writeInt(songs.size());
+
+            for (SongMetadata song : songs) {
+                output.writeUTF(songsDirectory.relativize(song.chartPath()).toString());
+                output.writeUTF(song.songName());
+                output.writeUTF(song.musicPath());
+                output.writeDouble(song.bpm());
+                output.writeInt(song.noteCount());
+                output.writeDouble(song.durationSeconds());
+                output.writeInt(song.laneCount());
+                output.writeLong(song.contentHash());
+                output.writeLong(song.fileSize());
+                output.writeLong(song.lastModified());
+            }
+        }
+
+        Files.move(tempIndexFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
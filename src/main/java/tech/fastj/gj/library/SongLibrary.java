@@ -0,0 +1,315 @@
+package tech.fastj.gj.library;
+
+import tech.fastj.gj.rhythm.SongInfo;
+import tech.fastj.gj.rhythm.TempoMap;
+import tech.fastj.gj.util.FilePaths;
+import tech.fastj.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+
+/**
+ * Every chart installed in the songs directory, summarized as {@link SongMetadata}.
+ * <p>
+ * When the library starts, it reads its on-disk index, so the songs from the last run are listed straight away. A
+ * daemon thread then brings the index up to date -- rereading only the charts whose size or modification time changed
+ * -- and keeps watching the directory, so charts that are added, edited or removed while the game runs show up without
+ * a rescan. Each change is saved back to the index.
+ */
+public class SongLibrary {
+
+    private static final SongLibrary Instance = new SongLibrary(FilePaths.SongsDirectory, FilePaths.SongIndexFile);
+
+    /** How long to wait for more changes after one arrives, so a burst of writes to a chart is read once. */
+    private static final long WatchDebounceMillis = 150L;
+
+    private static final Comparator<SongMetadata> SongOrder = Comparator
+        .comparing(SongMetadata::songName, String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(SongMetadata::chartPath);
+
+    private final Path songsDirectory;
+    private final Path indexFile;
+    private final Map<Path, SongMetadata> songs;
+    private final List<Runnable> changeListeners;
+    private final Gson gson;
+
+    private volatile SongSearchIndex searchIndex;
+    private Thread libraryThread;
+
+    SongLibrary(Path songsDirectory, Path indexFile) {
+        this.songsDirectory = songsDirectory.toAbsolutePath().normalize();
+        this.indexFile = indexFile;
+        this.songs = new ConcurrentHashMap<>();
+        this.changeListeners = new CopyOnWriteArrayList<>();
+        this.gson = new Gson();
+        this.searchIndex = SongSearchIndex.build(List.of());
+    }
+
+    public static SongLibrary getInstance() {
+        return Instance;
+    }
+
+    /**
+     * Loads the library's index and starts keeping it up to date. Does nothing if the library has already started.
+     */
+    public synchronized void start() {
+        if (libraryThread != null) {
+            return;
+        }
+
+        try {
+            for (SongMetadata song : SongIndexFile.read(indexFile, songsDirectory)) {
+                songs.put(song.chartPath(), song);
+            }
+        } catch (IOException exception) {
+            Log.warn(SongLibrary.class, "Couldn't read song index {}, rescanning instead", indexFile, exception);
+        }
+        publish();
+        Log.debug(SongLibrary.class, "loaded {} songs from index", songs.size());
+
+        libraryThread = new Thread(this::run, "song-library");
+        libraryThread.setDaemon(true);
+        libraryThread.start();
+    }
+
+    /**
+     * Gets every song in the library, sorted by name.
+     *
+     * @return An unmodifiable snapshot of the library's songs.
+     */
+    public List<SongMetadata> getSongs() {
+        return searchIndex.getSongs();
+    }
+
+    /**
+     * Gets a search index over the library's current songs. A new index is built each time the songs change.
+     *
+     * @return The search index, whose songs are the same snapshot as {@link #getSongs()}.
+     */
+    public SongSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public Path getSongsDirectory() {
+        return songsDirectory;
+    }
+
+    /**
+     * Adds an action to run whenever the library's songs change. Actions run on the library's thread.
+     *
+     * @param changeListener The action to run.
+     */
+    public void addChangeListener(Runnable changeListener) {
+        changeListeners.add(changeListener);
+    }
+
+    public void removeChangeListener(Runnable changeListener) {
+        changeListeners.remove(changeListener);
+    }
+
+    private void run() {
+        try (WatchService watchService = songsDirectory.getFileSystem().newWatchService()) {
+            Files.createDirectories(songsDirectory);
+            songsDirectory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE
+            );
+
+            // registered before the scan, so nothing changed during the scan is missed
+            if (rescan()) {
+                changed();
+            }
+
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                Set<Path> changedCharts = new HashSet<>();
+                boolean overflowed = false;
+
+                while (watchKey != null) {
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflowed = true;
+                        } else if (event.context() instanceof Path chartName && isChart(chartName)) {
+                            changedCharts.add(songsDirectory.resolve(chartName));
+                        }
+                    }
+
+                    if (!watchKey.reset()) {
+                        Log.warn(SongLibrary.class, "Songs directory {} is no longer accessible", songsDirectory);
+                        return;
+                    }
+
+                    watchKey = watchService.poll(WatchDebounceMillis, TimeUnit.MILLISECONDS);
+                }
+
+                boolean hasChanged = false;
+                if (overflowed) {
+                    hasChanged = rescan();
+                } else {
+                    for (Path chartPath : changedCharts) {
+                        hasChanged |= refresh(chartPath);
+                    }
+                }
+
+                if (hasChanged) {
+                    changed();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (IOException exception) {
+            Log.error(SongLibrary.class, "Couldn't watch songs directory " + songsDirectory, exception);
+        }
+    }
+
+    /** Brings every song in the library up to date with the songs directory. */
+    private boolean rescan() throws IOException {
+        Set<Path> chartPaths = new HashSet<>();
+        try (DirectoryStream<Path> chartStream = Files.newDirectoryStream(songsDirectory, "*.json")) {
+            for (Path chartPath : chartStream) {
+                chartPaths.add(chartPath.toAbsolutePath().normalize());
+            }
+        }
+
+        boolean hasChanged = songs.keySet().retainAll(chartPaths);
+        for (Path chartPath : chartPaths) {
+            hasChanged |= refresh(chartPath);
+        }
+
+        Log.debug(SongLibrary.class, "scanned {} songs in {}", songs.size(), songsDirectory);
+        return hasChanged;
+    }
+
+    /** Brings one song in the library up to date with its chart file, rereading the chart only if it changed. */
+    private boolean refresh(Path chartPath) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(chartPath, BasicFileAttributes.class);
+        } catch (NoSuchFileException exception) {
+            return songs.remove(chartPath) != null;
+        } catch (IOException exception) {
+            Log.warn(SongLibrary.class, "Couldn't check chart {}", chartPath, exception);
+            return songs.remove(chartPath) != null;
+        }
+
+        long fileSize = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        SongMetadata song = songs.get(chartPath);
+        if (song != null && song.matches(fileSize, lastModified)) {
+            return false;
+        }
+
+        try {
+            songs.put(chartPath, readMetadata(chartPath, fileSize, lastModified));
+        } catch (IOException exception) {
+            Log.warn(SongLibrary.class, "Skipping unreadable chart {}: {}", chartPath, exception.getMessage());
+            songs.remove(chartPath);
+        }
+
+        return true;
+    }
+
+    private SongMetadata readMetadata(Path chartPath, long fileSize, long lastModified) throws IOException {
+        byte[] chartBytes = Files.readAllBytes(chartPath);
+
+        SongInfo chart;
+        try {
+            chart = gson.fromJson(new String(chartBytes, StandardCharsets.UTF_8), SongInfo.class);
+        } catch (RuntimeException exception) {
+            throw new IOException("Couldn't parse chart", exception);
+        }
+
+        if (chart == null || !chart.isComplete()) {
+            throw new IOException("Chart is missing its notes, note lanes or lane keys");
+        }
+
+        TempoMap tempoMap;
+        try {
+            tempoMap = chart.getTempoMap();
+        } catch (RuntimeException exception) {
+            // such as a missing tempo, or tempo changes out of order
+            throw new IOException("Couldn't read chart's tempo: " + exception.getMessage(), exception);
+        }
+
+        int noteCount = chart.getNotesLength();
+        double durationSeconds = noteCount == 0 ? 0d : tempoMap.secondsAt(chart.getNote(noteCount - 1));
+        String songName = chart.getSongName() != null ? chart.getSongName() : chartPath.getFileName().toString();
+        String musicPath = chart.getMusicPath() != null ? chart.getMusicPath() : "";
+
+        return new SongMetadata(
+            chartPath,
+            songName,
+            musicPath,
+            chart.getBpm(),
+            noteCount,
+            durationSeconds,
+            chart.getLaneKeys().size(),
+            hash(chartBytes),
+            fileSize,
+            lastModified
+        );
+    }
+
+    private void changed() {
+        publish();
+
+        try {
+            SongIndexFile.write(indexFile, songsDirectory, searchIndex.getSongs());
+        } catch (IOException exception) {
+            Log.warn(SongLibrary.class, "Couldn't save song index {}", indexFile, exception);
+        }
+
+        for (Runnable changeListener : changeListeners) {
+            changeListener.run();
+        }
+    }
+
+    private void publish() {
+        List<SongMetadata> nextSongs = new ArrayList<>(songs.values());
+        nextSongs.sort(SongOrder);
+        searchIndex = SongSearchIndex.build(List.copyOf(nextSongs));
+    }
+
+    private static boolean isChart(Path chartName) {
+        return chartName.toString().endsWith(".json");
+    }
+
+    /** Hashes a chart's contents down to the first 64 bits of its SHA-256 digest. */
+    private static long hash(byte[] chartBytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(chartBytes);
+            long hash = 0L;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+
+            return hash;
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is unavailable", exception);
+        }
+    }
+}
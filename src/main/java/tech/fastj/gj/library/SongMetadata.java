@@ -0,0 +1,32 @@
+package tech.fastj.gj.library;
+
+import java.nio.file.Path;
+
+/**
+ * A summary of one chart in the {@link SongLibrary}, enough to list and search for the song without loading its chart.
+ *
+ * @param chartPath       The path of the chart's json file.
+ * @param songName        The song's name.
+ * @param musicPath       The path of the song's music.
+ * @param bpm             The song's starting tempo.
+ * @param noteCount       The number of notes in the chart.
+ * @param durationSeconds The time of the chart's last note, in seconds.
+ * @param laneCount       The number of lanes the chart uses.
+ * @param contentHash     A hash of the chart file's contents.
+ * @param fileSize        The chart file's size, in bytes, when it was read.
+ * @param lastModified    The chart file's modification time, in milliseconds since the epoch, when it was read.
+ */
+public record SongMetadata(Path chartPath, String songName, String musicPath, double bpm, int noteCount,
+                           double durationSeconds, int laneCount, long contentHash, long fileSize, long lastModified) {
+
+    /** Whether the chart file's size and modification time still match the ones this metadata was read from. */
+    public boolean matches(long fileSize, long lastModified) {
+        return this.fileSize == fileSize && this.lastModified == lastModified;
+    }
+
+    /** Formats the song's duration as {@code m:ss}. */
+    public String formatDuration() {
+        int seconds = (int) Math.ceil(durationSeconds);
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,149 @@
+package tech.fastj.gj.library;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A search index over a fixed list of songs, for searching by name as the player types.
+ * <p>
+ * A query matches songs whose name contains it anywhere, so typing more of a query only ever narrows its results.
+ * Each three-character sequence (trigram) of a name maps to the songs containing it, so for queries of three or more
+ * characters, only songs containing every trigram of the query are checked. Shorter queries have no trigram to narrow
+ * by, and are checked against every name. Matching ignores case, and results keep the order of the song list.
+ */
+public final class SongSearchIndex {
+
+    private static final int[] NoSongs = new int[0];
+
+    private final List<SongMetadata> songs;
+    private final String[] foldedNames;
+    private final int[] allSongs;
+
+    /** The songs containing each trigram, in ascending order. */
+    private final Map<Long, int[]> trigramSongs;
+
+    private SongSearchIndex(List<SongMetadata> songs, String[] foldedNames, Map<Long, int[]> trigramSongs) {
+        this.songs = songs;
+        this.foldedNames = foldedNames;
+        this.trigramSongs = trigramSongs;
+
+        this.allSongs = new int[songs.size()];
+        Arrays.setAll(allSongs, i -> i);
+    }
+
+    /**
+     * Builds a search index over the provided songs.
+     *
+     * @param songs The songs to index. The list is kept, not copied, so it must not change afterwards.
+     * @return The search index.
+     */
+    public static SongSearchIndex build(List<SongMetadata> songs) {
+        int songCount = songs.size();
+        String[] foldedNames = new String[songCount];
+        for (int i = 0; i < songCount; i++) {
+            foldedNames[i] = fold(songs.get(i).songName());
+        }
+
+        Map<Long, Postings> trigramPostings = new HashMap<>();
+        for (int i = 0; i < songCount; i++) {
+            String foldedName = foldedNames[i];
+            for (int start = 0; start + 3 <= foldedName.length(); start++) {
+                trigramPostings.computeIfAbsent(trigramAt(foldedName, start), trigram -> new Postings()).add(i);
+            }
+        }
+
+        Map<Long, int[]> trigramSongs = new HashMap<>((int) (trigramPostings.size() / 0.75f) + 1);
+        for (Map.Entry<Long, Postings> postings : trigramPostings.entrySet()) {
+            trigramSongs.put(postings.getKey(), postings.getValue().toArray());
+        }
+
+        return new SongSearchIndex(songs, foldedNames, trigramSongs);
+    }
+
+    public List<SongMetadata> getSongs() {
+        return songs;
+    }
+
+    public int size() {
+        return songs.size();
+    }
+
+    /**
+     * Finds the songs matching the provided query.
+     *
+     * @param query The query. A blank query matches every song.
+     * @return The indices of the matching songs within {@link #getSongs()}, in ascending order. The returned array
+     * must not be modified.
+     */
+    public int[] search(String query) {
+        String foldedQuery = fold(query).strip();
+        if (foldedQuery.isEmpty()) {
+            return allSongs;
+        }
+
+        return filter(findCandidates(foldedQuery), foldedQuery);
+    }
+
+    /** Finds the songs that could contain the provided query -- every song, if the query is too short to narrow by. */
+    private int[] findCandidates(String foldedQuery) {
+        // every match contains every trigram of the query, so only the songs of its rarest trigram need checking
+        int[] candidates = allSongs;
+        for (int start = 0; start + 3 <= foldedQuery.length(); start++) {
+            int[] containingSongs = trigramSongs.get(trigramAt(foldedQuery, start));
+            if (containingSongs == null) {
+                return NoSongs;
+            }
+
+            if (containingSongs.length < candidates.length) {
+                candidates = containingSongs;
+            }
+        }
+
+        return candidates;
+    }
+
+    private int[] filter(int[] candidates, String foldedQuery) {
+        int[] matches = new int[candidates.length];
+        int matchCount = 0;
+        for (int candidate : candidates) {
+            if (foldedNames[candidate].contains(foldedQuery)) {
+                matches[matchCount++] = candidate;
+            }
+        }
+
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    private static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigramAt(String foldedText, int start) {
+        return ((long) foldedText.charAt(start) << 32) | ((long) foldedText.charAt(start + 1) << 16) | foldedText.charAt(start + 2);
+    }
+
+    /** A growing list of the songs containing one trigram, added in ascending order. */
+    private static final class Postings {
+        private int[] songs = new int[4];
+        private int size;
+
+        void add(int song) {
+            // a name can repeat a trigram, and songs are added in order, so a repeat is always the last song added
+            if (size > 0 && songs[size - 1] == song) {
+                return;
+            }
+
+            if (size == songs.length) {
+                songs = Arrays.copyOf(songs, size * 2);
+            }
+            songs[size++] = song;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(songs, size);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package tech.fastj.gj.loading;
+
+import tech.fastj.engine.FastJEngine;
+import tech.fastj.gameloop.CoreLoopState;
+import tech.fastj.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A list of loading steps, run one after another on the loader thread while the game loop carries on.
+ * <p>
+ * Each step has a weight, its share of the job's total progress, so a loading screen can show how far along the job
+ * is. Steps added with {@link #addGameLoopStep} run on the game loop instead -- for the few things the engine only
+ * allows there, like opening audio -- and the loader thread waits for them, so they should be kept short. Once every
+ * step is done the job's completion action runs on the game loop; if a step fails, its failure action does instead.
+ * <p>
+ * A job is built and started from a single thread. Its progress can be read from any thread.
+ */
+public class LoadingJob {
+
+    private static final ExecutorService Loader = Executors.newSingleThreadExecutor(task -> {
+        Thread loaderThread = new Thread(task, "loader");
+        loaderThread.setDaemon(true);
+        return loaderThread;
+    });
+
+    private final String title;
+    private final List<Step> steps;
+    private double totalWeight;
+
+    private Runnable onComplete;
+    private Consumer<Exception> onFailure;
+    private Future<?> future;
+
+    private volatile double progress;
+    private volatile String stepDescription;
+    private volatile boolean isCancelled;
+    private volatile boolean isDone;
+
+    public LoadingJob(String title) {
+        this.title = title;
+        this.steps = new ArrayList<>();
+        this.stepDescription = "";
+    }
+
+    /**
+     * Adds a step to run on the loader thread.
+     *
+     * @param description What the step is doing, as shown to the player.
+     * @param weight      The step's share of the job's progress, relative to the other steps.
+     * @param step        The step to run.
+     * @return The {@link LoadingJob}, for method chaining.
+     */
+    public LoadingJob addStep(String description, double weight, LoadingStep step) {
+        return addStep(description, weight, step, false);
+    }
+
+    /**
+     * Adds a step to run on the game loop, for work that has to happen there. The game loop is blocked while the step
+     * runs, so anything slow it relies on should be warmed up by an earlier step.
+     *
+     * @param description What the step is doing, as shown to the player.
+     * @param weight      The step's share of the job's progress, relative to the other steps.
+     * @param step        The step to run.
+     * @return The {@link LoadingJob}, for method chaining.
+     */
+    public LoadingJob addGameLoopStep(String description, double weight, LoadingStep step) {
+        return addStep(description, weight, step, true);
+    }
+
+    /**
+     * Sets the action to run on the game loop once every step is done.
+     *
+     * @param onComplete The action to run.
+     * @return The {@link LoadingJob}, for method chaining.
+     */
+    public LoadingJob setOnComplete(Runnable onComplete) {
+        this.onComplete = onComplete;
+        return this;
+    }
+
+    /**
+     * Sets the action to run on the game loop if a step fails. Steps after the failed one don't run.
+     *
+     * @param onFailure The action to run, given the step's exception.
+     * @return The {@link LoadingJob}, for method chaining.
+     */
+    public LoadingJob setOnFailure(Consumer<Exception> onFailure) {
+        this.onFailure = onFailure;
+        return this;
+    }
+
+    /** Starts running the job's steps. Does nothing if the job has already started. */
+    public void start() {
+        if (future != null) {
+            return;
+        }
+
+        Log.debug(LoadingJob.class, "starting \"{}\" ({} steps)", title, steps.size());
+        future = Loader.submit(this::run);
+    }
+
+    /** Stops the job after its current step. Neither its completion nor its failure action will run. */
+    public void cancel() {
+        isCancelled = true;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /** Gets what the job is currently doing, as shown to the player. */
+    public String getStepDescription() {
+        return stepDescription;
+    }
+
+    /** Gets how far along the job is, from {@code 0} to {@code 1}. */
+    public double getProgress() {
+        return progress;
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    private LoadingJob addStep(String description, double weight, LoadingStep step, boolean runsOnGameLoop) {
+        if (weight < 0d) {
+            throw new IllegalArgumentException("Step weight must not be negative, but was " + weight);
+        }
+
+        steps.add(new Step(description, weight, step, runsOnGameLoop));
+        totalWeight += weight;
+        return this;
+    }
+
+    private void run() {
+        long startTime = System.nanoTime();
+        double completedWeight = 0d;
+
+        try {
+            for (Step step : steps) {
+                if (isCancelled) {
+                    return;
+                }
+
+                stepDescription = step.description();
+                double stepStart = completedWeight;
+                runStep(step, stepProgress -> progress = toProgress(stepStart + step.weight() * clamp(stepProgress)));
+
+                completedWeight += step.weight();
+                progress = toProgress(completedWeight);
+            }
+        } catch (InterruptedException | CancellationException exception) {
+            return;
+        } catch (Exception exception) {
+            Log.warn(LoadingJob.class, "\"{}\" failed while \"{}\"", title, stepDescription, exception);
+            FastJEngine.runLater(() -> {
+                if (!isCancelled && onFailure != null) {
+                    onFailure.accept(exception);
+                }
+            }, CoreLoopState.Update);
+            return;
+        }
+
+        progress = 1d;
+        isDone = true;
+        Log.debug(LoadingJob.class, "finished \"{}\" in {}ms", title, (System.nanoTime() - startTime) / 1_000_000L);
+
+        FastJEngine.runLater(() -> {
+            if (!isCancelled && onComplete != null) {
+                onComplete.run();
+            }
+        }, CoreLoopState.Update);
+    }
+
+    private void runStep(Step step, DoubleConsumer stepProgress) throws Exception {
+        if (!step.runsOnGameLoop()) {
+            step.step().run(stepProgress);
+            return;
+        }
+
+        CompletableFuture<Void> stepResult = new CompletableFuture<>();
+        FastJEngine.runLater(() -> {
+            if (isCancelled) {
+                stepResult.cancel(false);
+                return;
+            }
+
+            try {
+                step.step().run(stepProgress);
+                stepResult.complete(null);
+            } catch (Exception exception) {
+                stepResult.completeExceptionally(exception);
+            }
+        }, CoreLoopState.Update);
+
+        try {
+            stepResult.get();
+        } catch (ExecutionException exception) {
+            throw exception.getCause() instanceof Exception cause ? cause : exception;
+        }
+    }
+
+    private double toProgress(double weight) {
+        return totalWeight == 0d ? 0d : Math.min(weight / totalWeight, 1d);
+    }
+
+    private static double clamp(double stepProgress) {
+        return Math.max(0d, Math.min(stepProgress, 1d));
+    }
+
+    private record Step(String description, double weight, LoadingStep step, boolean runsOnGameLoop) {
+    }
+}
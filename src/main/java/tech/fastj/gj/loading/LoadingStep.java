@@ -0,0 +1,17 @@
+package tech.fastj.gj.loading;
+
+import java.util.function.DoubleConsumer;
+
+/** One step of a {@link LoadingJob}. */
+@FunctionalInterface
+public interface LoadingStep {
+
+    /**
+     * Runs the step.
+     *
+     * @param progress Reports how far through the step it is, from {@code 0} to {@code 1}. Reporting is optional; a
+     *                 step that never reports jumps straight to done once it returns.
+     * @throws Exception If the step fails, which fails the whole job.
+     */
+    void run(DoubleConsumer progress) throws Exception;
+}
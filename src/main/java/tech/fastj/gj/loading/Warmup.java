@@ -0,0 +1,216 @@
+package tech.fastj.gj.loading;
+
+import tech.fastj.gj.util.Fonts;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleConsumer;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/** Loading steps that get assets ready ahead of their first use, so that use doesn't stall a frame. */
+public class Warmup {
+
+    /** How much of a song's music to read ahead before it plays, in seconds. */
+    public static final double MusicPreBufferSeconds = 3d;
+    /** How much to read ahead when the music's format doesn't say how many bytes a second of it takes. */
+    private static final int FallbackPreBufferBytes = 256 * 1024;
+    private static final String GlyphSample = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789.,:;!?'\"()%/-+ ";
+
+    private static volatile boolean hasWarmedFonts;
+    /** The decoded copy of each music file decoded so far, by the music's absolute path. */
+    private static final Map<Path, Path> DecodedMusic = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the game's fonts and renders their common glyphs once, so text drawn during play finds them cached. Only
+     * the first call does any work.
+     *
+     * @param progress Reports how many of the fonts are done.
+     */
+    public static void fonts(DoubleConsumer progress) {
+        if (hasWarmedFonts) {
+            return;
+        }
+
+        Font[] fonts = {
+            Fonts.DefaultNotoSans,
+            Fonts.ButtonTextFont,
+            Fonts.StatTextFont,
+            Fonts.SmallStatTextFontBold,
+            Fonts.SmallStatTextFontPlain,
+            Fonts.TitleTextFont,
+            Fonts.SubtitleTextFont,
+            Fonts.MonoStatTextFont
+        };
+
+        BufferedImage glyphImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = glyphImage.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        for (int i = 0; i < fonts.length; i++) {
+            graphics.setFont(fonts[i]);
+            graphics.getFontMetrics().stringWidth(GlyphSample);
+            graphics.drawString(GlyphSample, 0f, 0f);
+            progress.accept((i + 1d) / fonts.length);
+        }
+
+        graphics.dispose();
+        hasWarmedFonts = true;
+    }
+
+    /**
+     * Reads through the start of the music, so opening it afterwards finds the decoder loaded and the file cached.
+     *
+     * @param musicPath The path of the music.
+     * @param seconds   How much of the music to read, in seconds. {@link Double#POSITIVE_INFINITY} reads all of it.
+     * @param progress  Reports how much of that has been read.
+     * @throws IOException If the music can't be read.
+     */
+    public static void music(Path musicPath, double seconds, DoubleConsumer progress) throws IOException {
+        try (AudioInputStream musicStream = AudioSystem.getAudioInputStream(musicPath.toFile())) {
+            AudioFormat format = musicStream.getFormat();
+            long bytesPerSecond = (long) format.getFrameRate() * format.getFrameSize();
+            long byteCount;
+            if (bytesPerSecond <= 0L) {
+                byteCount = FallbackPreBufferBytes;
+            } else if (Double.isInfinite(seconds)) {
+                long frameCount = musicStream.getFrameLength();
+                byteCount = frameCount > 0L ? frameCount * format.getFrameSize() : Long.MAX_VALUE;
+            } else {
+                byteCount = (long) (bytesPerSecond * seconds);
+            }
+
+            readAhead(musicStream, byteCount, progress);
+        } catch (UnsupportedAudioFileException exception) {
+            throw new IOException("Unsupported music format", exception);
+        }
+    }
+
+    /**
+     * Decodes the music into a temporary WAV file of uncompressed samples, which is deleted when the game exits.
+     * Loading the decoded copy into memory afterwards only has to copy its samples, rather than decode them. Each music
+     * file is only decoded once.
+     *
+     * @param musicPath The path of the music.
+     * @param progress  Reports how much of the music has been decoded.
+     * @return The path to the decoded music.
+     * @throws IOException If the music can't be read or decoded, or if decoding was interrupted.
+     */
+    public static Path decodeMusic(Path musicPath, DoubleConsumer progress) throws IOException {
+        Path absoluteMusicPath = musicPath.toAbsolutePath().normalize();
+        Path decodedMusicPath = DecodedMusic.get(absoluteMusicPath);
+        if (decodedMusicPath != null && Files.exists(decodedMusicPath)) {
+            progress.accept(1d);
+            return decodedMusicPath;
+        }
+
+        long musicSize = Math.max(Files.size(musicPath), 1L);
+        decodedMusicPath = Files.createTempFile("decoded-music", ".wav");
+        decodedMusicPath.toFile().deleteOnExit();
+
+        try (InputStream fileStream = new ProgressInputStream(Files.newInputStream(musicPath), musicSize, progress);
+             AudioInputStream musicStream = AudioSystem.getAudioInputStream(new BufferedInputStream(fileStream))) {
+            AudioFormat musicFormat = musicStream.getFormat();
+            AudioFormat pcmFormat = new AudioFormat(
+                AudioFormat.Encoding.PCM_SIGNED,
+                musicFormat.getSampleRate(),
+                16,
+                musicFormat.getChannels(),
+                musicFormat.getChannels() * 2,
+                musicFormat.getSampleRate(),
+                false
+            );
+
+            try (AudioInputStream pcmStream = AudioSystem.getAudioInputStream(pcmFormat, musicStream)) {
+                AudioSystem.write(pcmStream, AudioFileFormat.Type.WAVE, decodedMusicPath.toFile());
+            }
+        } catch (UnsupportedAudioFileException | IllegalArgumentException exception) {
+            Files.deleteIfExists(decodedMusicPath);
+            throw new IOException("Unsupported music format", exception);
+        } catch (IOException exception) {
+            Files.deleteIfExists(decodedMusicPath);
+            throw exception;
+        }
+
+        progress.accept(1d);
+        DecodedMusic.put(absoluteMusicPath, decodedMusicPath);
+        return decodedMusicPath;
+    }
+
+    private static void readAhead(InputStream musicStream, long byteCount, DoubleConsumer progress) throws IOException {
+        byte[] buffer = new byte[8192];
+        long readCount = 0L;
+
+        while (readCount < byteCount && !Thread.currentThread().isInterrupted()) {
+            int read = musicStream.read(buffer, 0, (int) Math.min(buffer.length, byteCount - readCount));
+            if (read == -1) {
+                return;
+            }
+
+            readCount += read;
+            progress.accept((double) readCount / byteCount);
+        }
+    }
+
+    /** Reports how much of a stream has been read, and stops reading once the reading thread is interrupted. */
+    private static class ProgressInputStream extends FilterInputStream {
+        private final long size;
+        private final DoubleConsumer progress;
+        private long readCount;
+
+        private ProgressInputStream(InputStream in, long size, DoubleConsumer progress) {
+            super(in);
+            this.size = size;
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkInterrupted();
+            int read = super.read();
+            if (read != -1) {
+                advance(1);
+            }
+
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            checkInterrupted();
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+
+            return read;
+        }
+
+        private void advance(int count) {
+            readCount += count;
+            progress.accept(Math.min((double) readCount / size, 1d));
+        }
+
+        private static void checkInterrupted() throws InterruptedIOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Decoding was interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.systems.audio.Audio;
+import tech.fastj.systems.audio.MemoryAudio;
+import tech.fastj.systems.audio.StreamedAudio;
+
+import javax.sound.sampled.DataLine;
+
+/**
+ * Tracks how far into its audio a {@link DataLine} has played, in seconds.
+ * <p>
+ * A line only reports its frame position in buffer-sized steps, so between those steps the clock extrapolates with
+ * {@link System#nanoTime()} and eases toward each new report instead of jumping to it. If the line stalls, the
+ * extrapolation is capped so the clock waits for the audio rather than running ahead of it.
+ */
+final class AudioPlaybackClock {
+
+    /** How far the smoothed clock may be from the audio before it snaps straight to it, in seconds. */
+    private static final double ResyncThreshold = 0.05d;
+    /** How much of the remaining error is corrected on each sample. */
+    private static final double CorrectionRate = 0.1d;
+    /** How long the clock keeps extrapolating past the last frame position report, in seconds. */
+    private static final double MaxExtrapolation = 0.1d;
+
+    private final DataLine line;
+    private final double frameRate;
+
+    private long lastFramePosition;
+    private long lastFrameNanos;
+    private long lastSampleNanos;
+    private double position;
+    private boolean hasPosition;
+
+    private AudioPlaybackClock(DataLine line) {
+        this.line = line;
+        this.frameRate = line.getFormat().getFrameRate();
+        reset();
+    }
+
+    /**
+     * Creates a clock for the line backing the provided audio.
+     *
+     * @param audio The audio to track.
+     * @return The clock, or {@code null} if the audio's line is unavailable or has no usable frame rate.
+     */
+    static AudioPlaybackClock of(Audio audio) {
+        DataLine line = null;
+        if (audio instanceof StreamedAudio streamedAudio) {
+            line = streamedAudio.getAudioSource();
+        } else if (audio instanceof MemoryAudio memoryAudio) {
+            line = memoryAudio.getAudioSource();
+        }
+
+        if (line == null || line.getFormat().getFrameRate() <= 0f) {
+            return null;
+        }
+
+        return new AudioPlaybackClock(line);
+    }
+
+    /** Whether the line has started reporting playback progress. */
+    boolean hasPosition() {
+        return hasPosition;
+    }
+
+    /**
+     * Samples the line and advances the smoothed clock.
+     *
+     * @param nowNanos The current {@link System#nanoTime()} value.
+     * @return The smoothed playback position, in seconds.
+     */
+    double sample(long nowNanos) {
+        long framePosition = line.getLongFramePosition();
+        if (framePosition != lastFramePosition) {
+            lastFramePosition = framePosition;
+            lastFrameNanos = nowNanos;
+        }
+
+        if (framePosition <= 0L) {
+            lastSampleNanos = nowNanos;
+            return position;
+        }
+
+        double reported = framePosition / frameRate;
+        double extrapolation = Math.min((nowNanos - lastFrameNanos) / 1_000_000_000d, MaxExtrapolation);
+        double estimate = reported + extrapolation;
+
+        if (!hasPosition) {
+            hasPosition = true;
+            position = estimate;
+        } else {
+            double predicted = position + (nowNanos - lastSampleNanos) / 1_000_000_000d;
+            double error = estimate - predicted;
+
+            if (Math.abs(error) > ResyncThreshold) {
+                position = estimate;
+            } else {
+                position = Math.max(position, predicted + (error * CorrectionRate));
+            }
+        }
+
+        lastSampleNanos = nowNanos;
+        return position;
+    }
+
+    /**
+     * Restarts extrapolation from the provided time, so time spent paused is not counted as playback.
+     *
+     * @param nowNanos The current {@link System#nanoTime()} value.
+     */
+    void resume(long nowNanos) {
+        lastSampleNanos = nowNanos;
+        lastFrameNanos = nowNanos;
+    }
+
+    /** Forgets all playback progress, as if the line had not started yet. */
+    void reset() {
+        lastFramePosition = -1L;
+        lastFrameNanos = 0L;
+        lastSampleNanos = 0L;
+        position = 0d;
+        hasPosition = false;
+    }
+}
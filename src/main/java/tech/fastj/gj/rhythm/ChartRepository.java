@@ -0,0 +1,158 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.logging.Log;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Loads charts from disk, parsing each one once and keeping the result for later plays.
+ * <p>
+ * Charts are {@link SongInfo immutable} once loaded, so a cached chart is handed out as-is to every caller. A cached
+ * chart is reused for as long as its file's size and modification time are unchanged; otherwise it's parsed again.
+ * Charts are kept in least-recently-used order, and the oldest are evicted once the estimated size of every cached
+ * chart goes over the memory budget, which can be set in bytes with the {@code fastj.gj.chartCacheBytes} property.
+ */
+public class ChartRepository {
+
+    private static final long DefaultMemoryBudgetBytes = 16L * 1024L * 1024L;
+    private static final ChartRepository Instance = new ChartRepository(Long.getLong("fastj.gj.chartCacheBytes", DefaultMemoryBudgetBytes));
+
+    private final long memoryBudgetBytes;
+    private final LinkedHashMap<Path, CachedChart> charts;
+    private final Gson gson;
+
+    private long cachedBytes;
+    private long hitCount;
+    private long missCount;
+
+    ChartRepository(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.charts = new LinkedHashMap<>(16, 0.75f, true);
+        this.gson = new Gson();
+    }
+
+    public static ChartRepository getInstance() {
+        return Instance;
+    }
+
+    /**
+     * Gets the chart at the provided path, parsing it only if it isn't cached or its file has changed since it was.
+     *
+     * @param chartPath The path of the chart's json file.
+     * @return The chart.
+     * @throws IOException If the chart's file can't be read.
+     */
+    public SongInfo load(Path chartPath) throws IOException {
+        Path key = chartPath.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            CachedChart cachedChart = charts.get(key);
+            if (cachedChart != null && cachedChart.size() == size && cachedChart.lastModified() == lastModified) {
+                hitCount++;
+                return cachedChart.chart();
+            }
+
+            missCount++;
+        }
+
+        // parsed outside the lock, so loading one chart doesn't hold up lookups of others
+        SongInfo chart = parse(key);
+        CachedChart cachedChart = new CachedChart(chart, size, lastModified, chart.estimateSizeBytes());
+
+        synchronized (this) {
+            CachedChart replacedChart = charts.put(key, cachedChart);
+            if (replacedChart != null) {
+                cachedBytes -= replacedChart.sizeBytes();
+            }
+
+            cachedBytes += cachedChart.sizeBytes();
+            evictOverBudget(key);
+        }
+
+        Log.debug(ChartRepository.class, "loaded chart {} ({} notes)", key, chart.getNotesLength());
+        return chart;
+    }
+
+    /**
+     * Removes the chart at the provided path from the cache, if it's cached.
+     *
+     * @param chartPath The path of the chart's json file.
+     */
+    public synchronized void invalidate(Path chartPath) {
+        CachedChart removedChart = charts.remove(chartPath.toAbsolutePath().normalize());
+        if (removedChart != null) {
+            cachedBytes -= removedChart.sizeBytes();
+        }
+    }
+
+    public synchronized void clear() {
+        charts.clear();
+        cachedBytes = 0L;
+    }
+
+    public synchronized int getCachedCount() {
+        return charts.size();
+    }
+
+    /** Gets the estimated size of every cached chart, in bytes. */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private SongInfo parse(Path chartPath) throws IOException {
+        SongInfo chart;
+        try (Reader chartReader = Files.newBufferedReader(chartPath, StandardCharsets.UTF_8)) {
+            chart = gson.fromJson(chartReader, SongInfo.class);
+        } catch (JsonParseException exception) {
+            throw new IOException("Couldn't parse chart " + chartPath, exception);
+        }
+
+        if (chart == null || !chart.isComplete()) {
+            throw new IOException("Chart " + chartPath + " is missing its notes, note lanes or lane keys.");
+        }
+
+        // build the chart's lookup tables now rather than on its first frame of play
+        chart.prepare();
+        return chart;
+    }
+
+    /** Evicts the least recently used charts until the cache fits its budget, never evicting the provided chart. */
+    private void evictOverBudget(Path keptChart) {
+        Iterator<Map.Entry<Path, CachedChart>> chartIterator = charts.entrySet().iterator();
+        while (cachedBytes > memoryBudgetBytes && chartIterator.hasNext()) {
+            Map.Entry<Path, CachedChart> eldest = chartIterator.next();
+            if (eldest.getKey().equals(keptChart)) {
+                continue;
+            }
+
+            chartIterator.remove();
+            cachedBytes -= eldest.getValue().sizeBytes();
+            Log.debug(ChartRepository.class, "evicted chart {}", eldest.getKey());
+        }
+    }
+
+    private record CachedChart(SongInfo chart, long size, long lastModified, long sizeBytes) {
+    }
+}
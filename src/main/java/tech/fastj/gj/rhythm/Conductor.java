@@ -2,11 +2,13 @@ package tech.fastj.gj.rhythm;
 
 import tech.fastj.engine.FastJEngine;
 import tech.fastj.gameloop.CoreLoopState;
+import tech.fastj.gj.util.TimingService;
 import tech.fastj.graphics.game.GameObject;
 import tech.fastj.graphics.util.DrawUtil;
 import tech.fastj.math.Pointf;
 import tech.fastj.systems.audio.Audio;
 import tech.fastj.systems.audio.AudioEvent;
+import tech.fastj.systems.audio.MemoryAudio;
 import tech.fastj.systems.audio.state.PlaybackState;
 import tech.fastj.systems.behaviors.Behavior;
 import tech.fastj.systems.behaviors.BehaviorHandler;
@@ -14,13 +16,19 @@ import tech.fastj.systems.control.GameHandler;
 
 import java.awt.Graphics2D;
 import java.nio.file.Path;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
+import java.util.function.DoubleConsumer;
 
+/**
+ * Keeps a song's notes in time with its music.
+ * <p>
+ * The public timing fields are only meant to be read on the game loop thread, where the conductor updates them. Other
+ * threads, and anything extrapolating between updates, should read the {@link #getTimingSnapshot() timing snapshot}
+ * published at the end of each update instead.
+ */
 public class Conductor extends GameObject implements Behavior {
 
+    private static final int SpawnQueueCapacity = 32;
+
     public double songBpm;
     public double secPerBeat;
     public double songPosition;
@@ -28,23 +36,98 @@ public class Conductor extends GameObject implements Behavior {
     public double firstBeatOffset;
     public double dspSongTime;
     public double pauseTimeOffset;
+    public double systemSongPosition;
+    public double audioSongPosition;
+    public double clockDrift;
+    /** How long after it is scheduled the player hears the audio, in seconds. */
+    public double outputLatency;
     public Audio musicSource;
     public GeneralSongInfo musicInfo;
-    private BiConsumer<Double, Integer> spawnMusicNote;
+    private final TempoMap tempoMap;
+    private final PlaybackCursor playbackCursor;
+    private NoteSpawner spawnMusicNote;
+    private ScoreKeeper scoreKeeper;
+    private final SpawnQueue spawnQueue = new SpawnQueue(SpawnQueueCapacity);
+    private final ConductorMetrics metrics = new ConductorMetrics();
+    private int lastSpawnCount;
+    private double lastSpawnLateness;
     private boolean isFinished;
+    private final boolean isSeekable;
+    private double loopStartBeat;
+    private double loopEndBeat;
+    private boolean hasLoop;
+    private int seekCount;
+    private DoubleConsumer onSeek;
+    private Runnable onFinish;
     private boolean isPaused;
-    private boolean hasStarted;
-    private final ScheduledExecutorService musicPlayer = Executors.newSingleThreadScheduledExecutor();
+    private volatile boolean hasStarted;
+    private TimingMode timingMode;
+    private AudioPlaybackClock audioClock;
+    private volatile TimingSnapshot timingSnapshot;
+    private long lastDriftLogNanos;
+    private TimingService.ScheduledStart musicStart;
+    /** Held while the scheduled start plays the music, so destroying the conductor can't interleave with it. */
+    private final Object musicStartLock = new Object();
+    private boolean isDestroyed;
 
     public Conductor(GeneralSongInfo musicInfo, BehaviorHandler behaviorHandler, boolean needsLateUpdate) {
+        this(musicInfo, behaviorHandler, needsLateUpdate, false);
+    }
+
+    /**
+     * Creates a conductor for a song.
+     *
+     * @param musicInfo       The song to conduct.
+     * @param behaviorHandler The handler to update the conductor with.
+     * @param needsLateUpdate Whether the conductor should update after other behaviors.
+     * @param seekable        Whether the song can be {@link #seek(double) seeked} and looped. Seekable songs load their
+     *                        whole audio into memory, so it can be repositioned without reopening the file.
+     */
+    public Conductor(GeneralSongInfo musicInfo, BehaviorHandler behaviorHandler, boolean needsLateUpdate, boolean seekable) {
+        this(musicInfo, null, behaviorHandler, needsLateUpdate, seekable);
+    }
+
+    /**
+     * Creates a conductor for a song, using music that was already loaded for it -- such as by a
+     * {@link SongPrefetcher} -- instead of loading it again.
+     *
+     * @param musicInfo       The song to conduct.
+     * @param preparedMusic   The song's loaded music, which the conductor takes ownership of. Seekable songs need
+     *                        {@link MemoryAudio}, and others streamed audio. If this is {@code null}, the music is
+     *                        loaded as usual.
+     * @param behaviorHandler The handler to update the conductor with.
+     * @param needsLateUpdate Whether the conductor should update after other behaviors.
+     * @param seekable        Whether the song can be {@link #seek(double) seeked} and looped.
+     * @throws IllegalArgumentException If the prepared music doesn't match {@code seekable}. The caller keeps ownership
+     *                                  of the music, and should release it.
+     */
+    public Conductor(GeneralSongInfo musicInfo, Audio preparedMusic, BehaviorHandler behaviorHandler, boolean needsLateUpdate, boolean seekable) {
+        if (preparedMusic != null && (preparedMusic instanceof MemoryAudio) != seekable) {
+            throw new IllegalArgumentException(
+                "Prepared music for " + musicInfo.getSongName() + " must be " + (seekable ? "loaded into memory" : "streamed")
+                    + " for a " + (seekable ? "seekable" : "non-seekable") + " conductor."
+            );
+        }
+
         this.musicInfo = musicInfo;
         this.songBpm = musicInfo.getBpm();
         this.secPerBeat = 60d / songBpm;
+        this.tempoMap = musicInfo.getTempoMap();
+        this.playbackCursor = new PlaybackCursor(musicInfo);
         this.firstBeatOffset = musicInfo.getFirstBeatOffset();
         this.hasStarted = false;
+        this.timingMode = TimingMode.AudioClock;
+        this.timingSnapshot = new TimingSnapshot(System.nanoTime(), 0d, 0d, tempoMap, true);
         setCollisionPath(DrawUtil.createPath(DrawUtil.createBox(Pointf.origin(), 0f)));
 
-        this.musicSource = FastJEngine.getAudioManager().loadStreamedAudio(Path.of(musicInfo.getMusicPath()));
+        this.isSeekable = seekable;
+        if (preparedMusic != null) {
+            this.musicSource = preparedMusic;
+        } else if (seekable) {
+            this.musicSource = FastJEngine.getAudioManager().loadMemoryAudio(Path.of(musicInfo.getMusicPath()));
+        } else {
+            this.musicSource = FastJEngine.getAudioManager().loadStreamedAudio(Path.of(musicInfo.getMusicPath()));
+        }
 
         if (needsLateUpdate) {
             addLateBehavior(this, behaviorHandler);
@@ -53,10 +136,222 @@ public class Conductor extends GameObject implements Behavior {
         }
     }
 
-    public void setSpawnMusicNote(BiConsumer<Double, Integer> spawnMusicNote) {
+    public void setSpawnMusicNote(NoteSpawner spawnMusicNote) {
         this.spawnMusicNote = spawnMusicNote;
     }
 
+    /**
+     * Gets the number of notes spawned during the last update.
+     *
+     * @return The last update's spawn count.
+     */
+    public int getLastSpawnCount() {
+        return lastSpawnCount;
+    }
+
+    /**
+     * Gets how late the latest note spawned during the last update was, measured from the moment it crossed the
+     * beat peek threshold.
+     *
+     * @return The last update's worst spawn lateness, in seconds.
+     */
+    public double getLastSpawnLateness() {
+        return lastSpawnLateness;
+    }
+
+    /**
+     * Sets the score keeper whose results are published when the song finishes.
+     *
+     * @param scoreKeeper The play session's score keeper, or {@code null} if the session isn't scored.
+     */
+    public void setScoreKeeper(ScoreKeeper scoreKeeper) {
+        this.scoreKeeper = scoreKeeper;
+    }
+
+    /**
+     * Gets the song's tempo map. {@link #secPerBeat} only describes the song's starting tempo; positions elsewhere in
+     * the song should be converted through the tempo map.
+     *
+     * @return The song's tempo map.
+     */
+    public TempoMap getTempoMap() {
+        return tempoMap;
+    }
+
+    /**
+     * Gets this conductor's position within its chart. The chart is shared, but each conductor spawns notes through its
+     * own cursor.
+     *
+     * @return The conductor's playback cursor.
+     */
+    public PlaybackCursor getPlaybackCursor() {
+        return playbackCursor;
+    }
+
+    /**
+     * Gets the timing measurements gathered over the song so far.
+     *
+     * @return The conductor's metrics.
+     */
+    public ConductorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isSeekable() {
+        return isSeekable;
+    }
+
+    /**
+     * Gets the number of times the conductor has seeked. Anything tied to the song position, such as spawned notes, is
+     * stale once this changes.
+     *
+     * @return The conductor's seek count.
+     */
+    public int getSeekCount() {
+        return seekCount;
+    }
+
+    /**
+     * Sets the action to run after the conductor seeks, given the beat it seeked to.
+     *
+     * @param onSeek The seek action.
+     */
+    public void setOnSeek(DoubleConsumer onSeek) {
+        this.onSeek = onSeek;
+    }
+
+    /**
+     * Sets the action to run when the song finishes, just before its results are published -- such as judging the
+     * notes still pending, so the results account for every note.
+     *
+     * @param onFinish The finish action.
+     */
+    public void setOnFinish(Runnable onFinish) {
+        this.onFinish = onFinish;
+    }
+
+    /**
+     * Jumps to the provided beat without reopening the song's audio.
+     * <p>
+     * Notes from the beat onwards are spawned again, starting with the next update. The song can't be seeked before
+     * its audio begins, so earlier beats are clamped to the start of the audio. Seeking is only supported while the
+     * song is playing.
+     *
+     * @param beat The beat to jump to.
+     * @throws IllegalStateException If the conductor isn't {@link #isSeekable() seekable}.
+     */
+    public void seek(double beat) {
+        if (!(musicSource instanceof MemoryAudio memoryAudio)) {
+            throw new IllegalStateException("Conductor for " + musicInfo.getSongName() + " was not created seekable.");
+        }
+
+        double audioStart = -(firstBeatOffset * secPerBeat) - outputLatency;
+        double targetPosition = Math.max(tempoMap.secondsAt(beat), audioStart);
+        double playbackPosition = targetPosition - audioStart;
+
+        if (musicStart != null && musicStart.cancel()) {
+            hasStarted = true;
+        }
+        if (musicSource.getCurrentPlaybackState() != PlaybackState.Playing) {
+            musicSource.play();
+        }
+        memoryAudio.getAudioSource().setMicrosecondPosition((long) (playbackPosition * 1_000_000d));
+
+        long nowNanos = System.nanoTime();
+        pauseTimeOffset = (nowNanos / 1_000_000_000d) - dspSongTime - (firstBeatOffset * secPerBeat) - (targetPosition + outputLatency);
+        if (audioClock != null) {
+            audioClock.reset();
+        }
+
+        songPosition = targetPosition;
+        songPositionInBeats = tempoMap.beatAt(targetPosition);
+        playbackCursor.seek(songPositionInBeats);
+        isFinished = false;
+        seekCount++;
+        publishTimingSnapshot(nowNanos);
+
+        FastJEngine.trace("seeked to beat {}", songPositionInBeats);
+        if (onSeek != null) {
+            onSeek.accept(songPositionInBeats);
+        }
+    }
+
+    /**
+     * Loops the song between two beats: whenever the song reaches the end beat, it {@link #seek(double) seeks} back to
+     * the start beat.
+     *
+     * @param startBeat The beat to loop back to.
+     * @param endBeat   The beat to loop at.
+     * @throws IllegalStateException    If the conductor isn't {@link #isSeekable() seekable}.
+     * @throws IllegalArgumentException If the end beat isn't after the start beat.
+     */
+    public void setLoop(double startBeat, double endBeat) {
+        if (!isSeekable) {
+            throw new IllegalStateException("Conductor for " + musicInfo.getSongName() + " was not created seekable.");
+        }
+        if (!(endBeat > startBeat)) {
+            throw new IllegalArgumentException("Loop end beat " + endBeat + " must be after its start beat " + startBeat);
+        }
+
+        loopStartBeat = startBeat;
+        loopEndBeat = endBeat;
+        hasLoop = true;
+    }
+
+    public void clearLoop() {
+        hasLoop = false;
+    }
+
+    public boolean hasLoop() {
+        return hasLoop;
+    }
+
+    public double getLoopStartBeat() {
+        return loopStartBeat;
+    }
+
+    public double getLoopEndBeat() {
+        return loopEndBeat;
+    }
+
+    public TimingMode getTimingMode() {
+        return timingMode;
+    }
+
+    public void setTimingMode(TimingMode timingMode) {
+        this.timingMode = timingMode;
+    }
+
+    /**
+     * Gets the timing snapshot published by the last update. Safe to call from any thread.
+     *
+     * @return The latest timing snapshot.
+     */
+    public TimingSnapshot getTimingSnapshot() {
+        return timingSnapshot;
+    }
+
+    /**
+     * Gets the song position at the provided time, extrapolated from the position measured during the last update.
+     *
+     * @param nanoTime A {@link System#nanoTime()} value, such as a key press timestamp.
+     * @return The song position at {@code nanoTime}, in seconds.
+     */
+    public double songPositionAt(long nanoTime) {
+        return timingSnapshot.songPositionAt(nanoTime);
+    }
+
+    /**
+     * Gets the song position at the provided time in beats, extrapolated from the position measured during the last
+     * update.
+     *
+     * @param nanoTime A {@link System#nanoTime()} value, such as a key press timestamp.
+     * @return The song position at {@code nanoTime}, in beats.
+     */
+    public double songPositionInBeatsAt(long nanoTime) {
+        return timingSnapshot.songPositionInBeatsAt(nanoTime);
+    }
+
     public void setPaused(boolean paused) {
         if (isPaused == paused) {
             return;
@@ -64,9 +359,12 @@ public class Conductor extends GameObject implements Behavior {
 
         isPaused = paused;
         if (!isPaused) {
-            pauseTimeOffset = (System.nanoTime() / 1_000_000_000d) - dspSongTime - (firstBeatOffset * secPerBeat) - songPosition;
+            pauseTimeOffset = (System.nanoTime() / 1_000_000_000d) - dspSongTime - (firstBeatOffset * secPerBeat) - (songPosition + outputLatency);
             System.out.println(songPosition);
             System.out.println(pauseTimeOffset);
+            if (audioClock != null) {
+                audioClock.resume(System.nanoTime());
+            }
             if (musicSource != null) {
                 if (musicSource.getCurrentPlaybackState() == PlaybackState.Paused) {
                     musicSource.resume();
@@ -78,6 +376,8 @@ public class Conductor extends GameObject implements Behavior {
             if (musicSource != null) {
                 musicSource.pause();
             }
+
+            publishTimingSnapshot(System.nanoTime());
         }
     }
 
@@ -96,9 +396,29 @@ public class Conductor extends GameObject implements Behavior {
 
     @Override
     public void destroy() {
+        // cancelled before stopping, so a lead-in that's about to end can't start the music once it has been stopped
+        boolean hasMusicStarted;
+        synchronized (musicStartLock) {
+            isDestroyed = true;
+            if (musicStart != null) {
+                musicStart.cancel();
+            }
+            hasMusicStarted = hasStarted;
+        }
         setPaused(true);
-        musicSource.stop();
-        musicPlayer.shutdownNow();
+
+        if (isSeekable || hasMusicStarted) {
+            musicSource.stop();
+        } else {
+            // streamed music that never started never stops either, so its stop action won't unload it
+            FastJEngine.getGameLoop().removeEventObserver(musicSource.getAudioEventListener(), AudioEvent.class);
+            FastJEngine.getAudioManager().unloadStreamedAudio(musicSource.getID());
+        }
+
+        if (isSeekable) {
+            FastJEngine.getGameLoop().removeEventObserver(musicSource.getAudioEventListener(), AudioEvent.class);
+            FastJEngine.getAudioManager().unloadMemoryAudio(musicSource.getID());
+        }
     }
 
     @Override
@@ -109,13 +429,18 @@ public class Conductor extends GameObject implements Behavior {
                 ", songPosition=" + songPosition +
                 ", songPositionInBeats=" + songPositionInBeats +
                 ", dspSongTime=" + dspSongTime +
+                ", systemSongPosition=" + systemSongPosition +
+                ", audioSongPosition=" + audioSongPosition +
+                ", clockDrift=" + clockDrift +
+                ", timingMode=" + timingMode +
                 ", musicSource=" + musicSource +
                 '}';
     }
 
     @Override
     public void init(GameObject gameObject) {
-        musicSource.getAudioEventListener().setAudioStopAction(event -> {
+        // seekable audio stays loaded after it stops, so it can be seeked back into -- it's unloaded on destroy instead
+        musicSource.getAudioEventListener().setAudioStopAction(isSeekable ? event -> {} : event -> {
             if (FastJEngine.isRunning() && FastJEngine.getDisplay().getWindow().isShowing()) {
                 FastJEngine.runLater(() -> {
                     FastJEngine.getGameLoop().removeEventObserver(musicSource.getAudioEventListener(), AudioEvent.class);
@@ -127,16 +452,19 @@ public class Conductor extends GameObject implements Behavior {
             }
         });
 
-        double songDelay = 60d / musicInfo.getBpm() * musicInfo.getBeatPeekCount() * 1_000_000_000d;
-        dspSongTime = (System.nanoTime() + songDelay) / 1_000_000_000d;
-        musicPlayer.schedule(() -> {
-                    System.out.println(musicInfo.getNotesLength());
-                    musicSource.play();
-                    hasStarted = true;
-                },
-                (long) songDelay,
-                TimeUnit.NANOSECONDS
-        );
+        long songDelay = (long) (60d / musicInfo.getBpm() * musicInfo.getBeatPeekCount() * 1_000_000_000d);
+        long musicStartNanos = System.nanoTime() + songDelay;
+        dspSongTime = musicStartNanos / 1_000_000_000d;
+        musicStart = TimingService.getInstance().schedule(musicStartNanos, () -> {
+            synchronized (musicStartLock) {
+                if (isDestroyed) {
+                    return;
+                }
+
+                musicSource.play();
+                hasStarted = true;
+            }
+        });
     }
 
     @Override
@@ -145,11 +473,10 @@ public class Conductor extends GameObject implements Behavior {
 
     @Override
     public void update(GameObject gameObject) {
-        if (hasStarted && !isFinished && musicInfo.getNextIndex() >= musicInfo.getNotesLength() && musicSource.getCurrentPlaybackState() == PlaybackState.Stopped) {
+        if (hasStarted && !isFinished && !playbackCursor.hasNext() && musicSource.getCurrentPlaybackState() == PlaybackState.Stopped) {
             FastJEngine.log("early ending");
             isFinished = true;
-            musicInfo.resetNextIndex();
-            ConductorFinishedEvent event = new ConductorFinishedEvent(musicInfo.getNotesLength());
+            ConductorFinishedEvent event = createFinishedEvent();
             FastJEngine.runLater(() -> FastJEngine.getGameLoop().fireEvent(event), CoreLoopState.Update);
             return;
         }
@@ -158,20 +485,114 @@ public class Conductor extends GameObject implements Behavior {
             return;
         }
 
-        songPosition = (System.nanoTime() / 1_000_000_000d) - dspSongTime - (firstBeatOffset * secPerBeat) - pauseTimeOffset;
-        songPositionInBeats = songPosition / secPerBeat;
+        updateSongPosition(System.nanoTime());
 
-        if (musicInfo.getNextIndex() < musicInfo.getNotesLength() && musicInfo.getNote(musicInfo.getNextIndex()) < songPositionInBeats + musicInfo.getBeatPeekCount()) {
-            double note = musicInfo.getNote(musicInfo.getNextIndex());
-            int noteLane = musicInfo.getNoteLane(musicInfo.getNextIndex());
-            spawnMusicNote.accept(note, noteLane);
+        if (hasLoop && songPositionInBeats >= loopEndBeat) {
+            seek(loopStartBeat);
+        }
+
+        spawnDueNotes();
 
-            FastJEngine.log("added new music note {} at beat {}", note, songPositionInBeats);
-            musicInfo.incrementNextIndex();
-        } else if (hasStarted && !isFinished && musicInfo.getNextIndex() >= musicInfo.getNotesLength() && musicSource.getCurrentPlaybackState() == PlaybackState.Stopped) {
+        if (lastSpawnCount == 0 && hasStarted && !isFinished && !playbackCursor.hasNext() && musicSource.getCurrentPlaybackState() == PlaybackState.Stopped) {
             isFinished = true;
-            ConductorFinishedEvent event = new ConductorFinishedEvent(musicInfo.getNotesLength());
+            ConductorFinishedEvent event = createFinishedEvent();
             FastJEngine.runLater(() -> FastJEngine.getGameLoop().fireEvent(event), CoreLoopState.Update);
         }
     }
+
+    private ConductorFinishedEvent createFinishedEvent() {
+        if (onFinish != null) {
+            onFinish.run();
+        }
+
+        if (scoreKeeper == null) {
+            return new ConductorFinishedEvent(musicInfo.getNotesLength());
+        }
+
+        return new ConductorFinishedEvent(musicInfo.getNotesLength(), scoreKeeper);
+    }
+
+    /**
+     * Spawns every note that has crossed the beat peek threshold since the last update, rather than one per update,
+     * so a long frame doesn't leave notes to spawn late.
+     */
+    private void spawnDueNotes() {
+        int beatPeekCount = musicInfo.getBeatPeekCount();
+        double spawnThreshold = songPositionInBeats + beatPeekCount;
+
+        lastSpawnCount = 0;
+        lastSpawnLateness = 0d;
+
+        while (playbackCursor.hasNext() && playbackCursor.peekNote() < spawnThreshold) {
+            spawnQueue.clear();
+
+            while (!spawnQueue.isFull() && playbackCursor.hasNext()) {
+                double note = playbackCursor.peekNote();
+                if (note >= spawnThreshold) {
+                    break;
+                }
+
+                spawnQueue.add(note, playbackCursor.peekNoteLane(), note - beatPeekCount);
+                playbackCursor.advance();
+            }
+
+            for (int i = 0; i < spawnQueue.size(); i++) {
+                spawnMusicNote.spawn(spawnQueue.getNote(i), spawnQueue.getNoteLane(i));
+                lastSpawnLateness = Math.max(lastSpawnLateness, songPosition - tempoMap.secondsAt(spawnQueue.getSpawnBeat(i)));
+            }
+
+            lastSpawnCount += spawnQueue.size();
+        }
+
+        if (lastSpawnCount > 0) {
+            metrics.recordSpawnLateness(lastSpawnLateness * 1000d);
+            FastJEngine.trace("spawned {} music notes at beat {}, up to {}s late", lastSpawnCount, songPositionInBeats, lastSpawnLateness);
+        }
+    }
+
+    private void updateSongPosition(long nowNanos) {
+        systemSongPosition = (nowNanos / 1_000_000_000d) - dspSongTime - (firstBeatOffset * secPerBeat) - pauseTimeOffset;
+        songPosition = systemSongPosition;
+
+        if (audioClock == null && hasStarted) {
+            audioClock = AudioPlaybackClock.of(musicSource);
+            FastJEngine.trace("music started {}ms after its target", musicStart.getLatenessNanos() / 1_000_000d);
+        }
+
+        if (audioClock != null) {
+            double playbackPosition = audioClock.sample(nowNanos);
+
+            // until the line reports progress, the system clock covers the lead-in before the music starts
+            if (audioClock.hasPosition()) {
+                audioSongPosition = playbackPosition - (firstBeatOffset * secPerBeat);
+                clockDrift = audioSongPosition - systemSongPosition;
+                metrics.recordClockDrift(clockDrift * 1000d);
+
+                if (timingMode == TimingMode.AudioClock) {
+                    songPosition = audioSongPosition;
+                }
+
+                if (nowNanos - lastDriftLogNanos >= 1_000_000_000L) {
+                    lastDriftLogNanos = nowNanos;
+                    FastJEngine.trace("system clock {}s, audio clock {}s, drift {}ms", systemSongPosition, audioSongPosition, clockDrift * 1000d);
+                }
+            }
+        }
+
+        // everything downstream -- spawning, note movement, judgment -- follows the audio as the player hears it
+        songPosition -= outputLatency;
+        songPositionInBeats = tempoMap.beatAt(songPosition);
+
+        // the first update after starting or resuming has no previous update to measure from
+        TimingSnapshot previousTiming = timingSnapshot;
+        if (!previousTiming.isPaused()) {
+            metrics.recordUpdateDelta((nowNanos - previousTiming.updateNanos()) / 1_000_000d);
+        }
+
+        publishTimingSnapshot(nowNanos);
+    }
+
+    private void publishTimingSnapshot(long nowNanos) {
+        timingSnapshot = new TimingSnapshot(nowNanos, songPosition, songPositionInBeats, tempoMap, isPaused);
+    }
 }
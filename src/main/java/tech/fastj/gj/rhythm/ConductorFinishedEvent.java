@@ -9,20 +9,49 @@ public class ConductorFinishedEvent extends Event {
     private final int totalNotesOverall;
     private final int totalNotesHit;
     private final int notesPerfect;
+    private final int notesGreat;
+    private final int notesGood;
     private final int notesMissed;
+    private final int maxCombo;
+    private final long score;
+    private final double accuracy;
+    private final Grade grade;
 
     public ConductorFinishedEvent(int totalNotesOverall) {
-        this.totalNotesOverall = totalNotesOverall;
-        this.totalNotesHit = 0;
-        this.notesPerfect = 0;
-        this.notesMissed = 0;
+        this(totalNotesOverall, 0, 0, 0);
     }
 
     public ConductorFinishedEvent(int totalNotesOverall, int totalNotesHit, int notesPerfect, int notesMissed) {
         this.totalNotesOverall = totalNotesOverall;
         this.totalNotesHit = totalNotesHit;
         this.notesPerfect = notesPerfect;
+        this.notesGreat = 0;
+        this.notesGood = 0;
         this.notesMissed = notesMissed;
+        this.maxCombo = 0;
+        this.score = 0L;
+        this.accuracy = 0d;
+        this.grade = null;
+    }
+
+    /**
+     * Creates the results of a scored play. Every note should have been judged by then, such as by
+     * {@link GameInputMatcher#missRemainingNotes()}, so the missed notes count towards the accuracy and grade too.
+     *
+     * @param totalNotesOverall The number of notes in the song.
+     * @param scoreKeeper       The play's score keeper.
+     */
+    public ConductorFinishedEvent(int totalNotesOverall, ScoreKeeper scoreKeeper) {
+        this.totalNotesOverall = totalNotesOverall;
+        this.totalNotesHit = scoreKeeper.getHitCount();
+        this.notesPerfect = scoreKeeper.getCount(Judgment.Perfect);
+        this.notesGreat = scoreKeeper.getCount(Judgment.Great);
+        this.notesGood = scoreKeeper.getCount(Judgment.Good);
+        this.notesMissed = totalNotesOverall - totalNotesHit;
+        this.maxCombo = scoreKeeper.getMaxCombo();
+        this.score = scoreKeeper.getScore();
+        this.accuracy = scoreKeeper.getAccuracy();
+        this.grade = scoreKeeper.getGrade();
     }
 
     public int getTotalNotesOverall() {
@@ -37,10 +66,39 @@ public class ConductorFinishedEvent extends Event {
         return notesPerfect;
     }
 
+    public int getNotesGreat() {
+        return notesGreat;
+    }
+
+    public int getNotesGood() {
+        return notesGood;
+    }
+
     public int getNotesMissed() {
         return notesMissed;
     }
 
+    public int getMaxCombo() {
+        return maxCombo;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Gets the play's grade.
+     *
+     * @return The grade, or {@code null} if the play wasn't scored.
+     */
+    public Grade getGrade() {
+        return grade;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -53,12 +111,18 @@ public class ConductorFinishedEvent extends Event {
         return totalNotesOverall == conductorFinishedEvent.totalNotesOverall
                 && totalNotesHit == conductorFinishedEvent.totalNotesHit
                 && notesPerfect == conductorFinishedEvent.notesPerfect
-                && notesMissed == conductorFinishedEvent.notesMissed;
+                && notesGreat == conductorFinishedEvent.notesGreat
+                && notesGood == conductorFinishedEvent.notesGood
+                && notesMissed == conductorFinishedEvent.notesMissed
+                && maxCombo == conductorFinishedEvent.maxCombo
+                && score == conductorFinishedEvent.score
+                && Double.compare(accuracy, conductorFinishedEvent.accuracy) == 0
+                && grade == conductorFinishedEvent.grade;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(totalNotesOverall, totalNotesHit, notesPerfect, notesMissed);
+        return Objects.hash(totalNotesOverall, totalNotesHit, notesPerfect, notesGreat, notesGood, notesMissed, maxCombo, score, accuracy, grade);
     }
 
     @Override
@@ -67,7 +131,13 @@ public class ConductorFinishedEvent extends Event {
                 "totalNotesOverall=" + totalNotesOverall +
                 ", totalNotesHit=" + totalNotesHit +
                 ", notesPerfect=" + notesPerfect +
+                ", notesGreat=" + notesGreat +
+                ", notesGood=" + notesGood +
                 ", notesMissed=" + notesMissed +
+                ", maxCombo=" + maxCombo +
+                ", score=" + score +
+                ", accuracy=" + accuracy +
+                ", grade=" + grade +
                 '}';
     }
 }
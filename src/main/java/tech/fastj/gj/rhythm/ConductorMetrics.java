@@ -0,0 +1,85 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * Timing measurements gathered over a {@link Conductor}'s song, for telling a player's mistimed input apart from a
+ * stall on their machine.
+ * <p>
+ * Measurements are recorded on the game loop thread and should be read from it too.
+ */
+public final class ConductorMetrics {
+
+    /** Update gaps at least this long are counted as stalls, in milliseconds. */
+    public static final double StallThresholdMs = 50d;
+
+    private static final double BucketWidthMs = 0.5d;
+    private static final int BucketCount = 200;
+
+    private final LatencyHistogram updateDeltas = new LatencyHistogram(BucketWidthMs, BucketCount);
+    private final LatencyHistogram clockDrift = new LatencyHistogram(BucketWidthMs, BucketCount);
+    private final LatencyHistogram spawnLateness = new LatencyHistogram(BucketWidthMs, BucketCount);
+    private final LatencyHistogram inputLatency = new LatencyHistogram(BucketWidthMs, BucketCount);
+    private long stallCount;
+
+    /** Records the time between two consecutive conductor updates. */
+    void recordUpdateDelta(double deltaMs) {
+        updateDeltas.record(deltaMs);
+        if (deltaMs >= StallThresholdMs) {
+            stallCount++;
+        }
+    }
+
+    /** Records how far the audio clock was from the system clock. Positive drift means the audio is ahead. */
+    void recordClockDrift(double driftMs) {
+        clockDrift.record(driftMs);
+    }
+
+    /** Records how late the latest note spawned during an update was. */
+    void recordSpawnLateness(double latenessMs) {
+        spawnLateness.record(latenessMs);
+    }
+
+    /** Records how long a press waited between being captured and being judged. */
+    void recordInputLatency(double latencyMs) {
+        inputLatency.record(latencyMs);
+    }
+
+    public LatencyHistogram getUpdateDeltas() {
+        return updateDeltas;
+    }
+
+    public LatencyHistogram getClockDrift() {
+        return clockDrift;
+    }
+
+    public LatencyHistogram getSpawnLateness() {
+        return spawnLateness;
+    }
+
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    /** Gets the number of updates that came at least {@link #StallThresholdMs} after the previous one. */
+    public long getStallCount() {
+        return stallCount;
+    }
+
+    public void reset() {
+        updateDeltas.reset();
+        clockDrift.reset();
+        spawnLateness.reset();
+        inputLatency.reset();
+        stallCount = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "ConductorMetrics{" +
+            "updateDeltas=" + updateDeltas +
+            ", clockDrift=" + clockDrift +
+            ", spawnLateness=" + spawnLateness +
+            ", inputLatency=" + inputLatency +
+            ", stallCount=" + stallCount +
+            '}';
+    }
+}
@@ -12,13 +12,16 @@ public class EditableSongInfo implements GeneralSongInfo {
 
     public String songName;
     public double bpm;
+    public TempoChange[] tempoChanges;
     public double[] notes;
     public int[] noteLanes;
     public TreeMap<Integer, Keys> laneKeys;
-    int nextIndex;
     public int beatPeekCount;
     public double firstBeatOffset;
     public String musicPath;
+    private transient TempoMap tempoMap;
+    private transient double tempoMapBpm;
+    private transient TempoChange[] tempoMapChanges;
 
     public EditableSongInfo() {
     }
@@ -28,7 +31,6 @@ public class EditableSongInfo implements GeneralSongInfo {
         this.bpm = bpm;
         this.laneKeys = laneKeys;
         this.musicPath = musicPath;
-        this.nextIndex = 0;
         this.beatPeekCount = beatPeekCount;
         this.firstBeatOffset = firstBeatOffset;
     }
@@ -48,6 +50,18 @@ public class EditableSongInfo implements GeneralSongInfo {
         return bpm;
     }
 
+    @Override
+    public TempoMap getTempoMap() {
+        // the editor can change the tempo at any time, so rebuild whenever the map no longer matches
+        if (tempoMap == null || tempoMapBpm != bpm || tempoMapChanges != tempoChanges) {
+            tempoMap = TempoMap.build(bpm, tempoChanges);
+            tempoMapBpm = bpm;
+            tempoMapChanges = tempoChanges;
+        }
+
+        return tempoMap;
+    }
+
     @Override
     public double getFirstBeatOffset() {
         return firstBeatOffset;
@@ -89,18 +103,13 @@ public class EditableSongInfo implements GeneralSongInfo {
     }
 
     @Override
-    public int getBeatPeekCount() {
-        return beatPeekCount;
+    public int findIndex(double beat) {
+        return notes == null ? 0 : LaneIndex.lowerBound(notes, beat);
     }
 
     @Override
-    public int getNextIndex() {
-        return nextIndex;
-    }
-
-    @Override
-    public void incrementNextIndex() {
-        nextIndex++;
+    public int getBeatPeekCount() {
+        return beatPeekCount;
     }
 
     @Override
@@ -113,6 +122,7 @@ public class EditableSongInfo implements GeneralSongInfo {
         }
         EditableSongInfo editableSongInfo = (EditableSongInfo) o;
         return Double.compare(editableSongInfo.bpm, bpm) == 0
+            && Arrays.equals(tempoChanges, editableSongInfo.tempoChanges)
             && beatPeekCount == editableSongInfo.beatPeekCount
             && Double.compare(editableSongInfo.firstBeatOffset, firstBeatOffset) == 0
             && Arrays.equals(notes, editableSongInfo.notes)
@@ -123,7 +133,8 @@ public class EditableSongInfo implements GeneralSongInfo {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(bpm, laneKeys, nextIndex, beatPeekCount, firstBeatOffset, musicPath);
+        int result = Objects.hash(bpm, laneKeys, beatPeekCount, firstBeatOffset, musicPath);
+        result = 31 * result + Arrays.hashCode(tempoChanges);
         result = 31 * result + Arrays.hashCode(notes);
         result = 31 * result + Arrays.hashCode(noteLanes);
         return result;
@@ -133,18 +144,13 @@ public class EditableSongInfo implements GeneralSongInfo {
     public String toString() {
         return "EditableSongInfo{" +
             "bpm=" + bpm +
+            ", tempoChanges=" + Arrays.toString(tempoChanges) +
             ", beatPeekCount=" + beatPeekCount +
             ", firstBeatOffset=" + firstBeatOffset +
-            ", nextIndex=" + nextIndex +
             ", musicPath='" + musicPath + '\'' +
             ", notes=" + Arrays.toString(notes) +
             ", noteLanes=" + Arrays.toString(noteLanes) +
             ", laneKeys=" + laneKeys +
             '}';
     }
-
-    @Override
-    public void resetNextIndex() {
-        nextIndex = 0;
-    }
 }
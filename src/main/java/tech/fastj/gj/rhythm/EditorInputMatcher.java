@@ -8,22 +8,24 @@ import tech.fastj.input.keyboard.events.KeyboardStateEvent;
 import tech.fastj.systems.audio.state.PlaybackState;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
 public final class EditorInputMatcher implements KeyboardActionListener {
 
-    private final Set<Double> consumedNotes;
+    /** Recorded notes are snapped to quarter beats, so each beat has four slots per lane. */
+    private static final int SlotsPerBeat = 4;
+
+    private final BitSet consumedNotes;
     private final Conductor conductor;
     private final EditableSongInfo songInfo;
     private final List<RecordedNote> recordedNotes;
     private BiConsumer<KeyboardStateEvent, Double> onLaneKeyPressed;
 
     public EditorInputMatcher(Conductor conductor, EditableSongInfo songInfo) {
-        this.consumedNotes = new HashSet<>();
+        this.consumedNotes = new BitSet();
         this.recordedNotes = new ArrayList<>();
         this.conductor = conductor;
         this.songInfo = songInfo;
@@ -41,7 +43,7 @@ public final class EditorInputMatcher implements KeyboardActionListener {
 
         double outputBeatPosition = -1;
         if (songInfo.getLaneKeys().contains(keyboardStateEvent.getKey())) {
-            double inputBeatPosition = (((keyboardStateEvent.getTimestamp() / 1_000_000_000d) - conductor.dspSongTime) / conductor.secPerBeat) - conductor.firstBeatOffset;
+            double inputBeatPosition = conductor.songPositionInBeatsAt(keyboardStateEvent.getTimestamp());
             FastJEngine.trace("{} key pressed at {}", keyboardStateEvent.getKey(), inputBeatPosition);
             outputBeatPosition = checkNotes(inputBeatPosition, keyboardStateEvent.getKey());
         }
@@ -53,13 +55,19 @@ public final class EditorInputMatcher implements KeyboardActionListener {
 
     private double checkNotes(double inputBeatPosition, Keys inputKey) {
         double beatPosition = RhythmUtil.adjustBeatPosition(inputBeatPosition);
+        if (beatPosition < 0d) {
+            return -1;
+        }
 
-        if (consumedNotes.contains(beatPosition)) {
+        int noteLane = songInfo.getKeyLane(inputKey);
+        int slot = (int) Math.round(beatPosition * SlotsPerBeat) * (songInfo.laneKeys.lastKey() + 1) + noteLane;
+
+        if (consumedNotes.get(slot)) {
             return -1;
         }
 
-        consumedNotes.add(beatPosition);
-        recordedNotes.add(new RecordedNote(beatPosition, songInfo.getKeyLane(inputKey)));
+        consumedNotes.set(slot);
+        recordedNotes.add(new RecordedNote(beatPosition, noteLane));
 
         return beatPosition;
     }
@@ -68,6 +76,12 @@ public final class EditorInputMatcher implements KeyboardActionListener {
         return recordedNotes;
     }
 
+    /** Clears all recorded notes, keeping the matcher's storage for the next recording. */
+    public void reset() {
+        consumedNotes.clear();
+        recordedNotes.clear();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == this) {
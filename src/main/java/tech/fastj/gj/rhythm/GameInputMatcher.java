@@ -1,138 +1,276 @@
 package tech.fastj.gj.rhythm;
 
 import tech.fastj.engine.FastJEngine;
-import tech.fastj.gameloop.CoreLoopState;
 import tech.fastj.input.keyboard.KeyboardActionListener;
 import tech.fastj.input.keyboard.Keys;
 import tech.fastj.input.keyboard.events.KeyboardStateEvent;
 import tech.fastj.systems.audio.state.PlaybackState;
 
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public final class GameInputMatcher implements KeyboardActionListener {
 
-    private static final double MaxNoteDistance = 0.25d;
-    private static final double PerfectNoteDistance = 0.125d;
-    private final Set<Double> consumedNotes;
+    /** How many judgments can wait to be shown before the oldest are dropped. */
+    private static final int JudgmentQueueCapacity = 16;
+    /** How many lane presses can be captured between two updates before new presses are dropped. */
+    private static final int LaneInputCapacity = 64;
+    /** Whether every judgment is logged. Off by default, since the logging calls box their arguments on each press. */
+    private static final boolean LogJudgments = Boolean.getBoolean("fastj.gj.logJudgments");
+
+    private final NoteStates noteStates;
+    private final JudgmentWindows judgmentWindows;
+    private final ScoreKeeper scoreKeeper;
+    private int missCursor;
     private final Conductor conductor;
+    private final Supplier<TimingSnapshot> timing;
+    private final ConductorMetrics metrics;
     private final SongInfo songInfo;
-    private final Consumer<String> onSpawnNotice;
+    private final JudgmentQueue judgmentQueue;
+    private final LaneInputBuffer laneInputs;
+    private final LaneInputBuffer.LaneInputConsumer judgeLaneInput;
+
+    private Consumer<Keys> onLaneKeyPressed;
 
-    private Consumer<KeyboardStateEvent> onLaneKeyPressed;
+    public GameInputMatcher(Conductor conductor, SongInfo songInfo, JudgmentProfile judgmentProfile) {
+        this(conductor, conductor::getTimingSnapshot, conductor.getMetrics(), songInfo, judgmentProfile);
+    }
 
-    public GameInputMatcher(Conductor conductor, SongInfo songInfo, Consumer<String> onSpawnNotice) {
-        this.consumedNotes = new HashSet<>();
+    /**
+     * Creates a matcher that times presses against the provided timing snapshots, rather than the conductor's own.
+     *
+     * @param conductor       The conductor whose music must be playing for presses to be captured.
+     * @param timing          Supplies the timing snapshot each press is judged against.
+     * @param metrics         The metrics to record input latency in.
+     * @param songInfo        The song to judge presses against.
+     * @param judgmentProfile The timing windows to judge presses with.
+     */
+    GameInputMatcher(Conductor conductor, Supplier<TimingSnapshot> timing, ConductorMetrics metrics, SongInfo songInfo, JudgmentProfile judgmentProfile) {
+        this.noteStates = new NoteStates(songInfo.getNotesLength());
+        this.judgmentWindows = JudgmentWindows.of(judgmentProfile);
+        this.scoreKeeper = new ScoreKeeper();
         this.conductor = conductor;
+        this.timing = timing;
+        this.metrics = metrics;
         this.songInfo = songInfo;
-        this.onSpawnNotice = onSpawnNotice;
+        this.judgmentQueue = new JudgmentQueue(JudgmentQueueCapacity);
+        this.laneInputs = new LaneInputBuffer(LaneInputCapacity);
+        this.judgeLaneInput = this::judgeLaneInput;
     }
 
+    /**
+     * Captures lane key presses, timestamped as they are dispatched. The presses are judged on the next call to
+     * {@link #processInputs()}.
+     */
     @Override
     public void onKeyRecentlyPressed(KeyboardStateEvent keyboardStateEvent) {
+        long timestamp = System.nanoTime();
         if (conductor.musicSource.getCurrentPlaybackState() != PlaybackState.Playing) {
             return;
         }
 
-        if (songInfo.getLaneKeysMap().containsValue((keyboardStateEvent.getKey()))) {
-            double inputBeatPosition = (((keyboardStateEvent.getTimestamp() / 1_000_000_000d) - conductor.dspSongTime - conductor.pauseTimeOffset) / conductor.secPerBeat) - conductor.firstBeatOffset;
-            FastJEngine.trace("{} arrow key pressed at {}", keyboardStateEvent.getKey(), inputBeatPosition);
-            checkNotes(inputBeatPosition, keyboardStateEvent.getKey());
+        capturePress(timestamp, keyboardStateEvent.getKey());
+    }
+
+    /**
+     * Captures a key press to be judged on the next call to {@link #processInputs()}. Keys outside the song's lanes
+     * are ignored.
+     *
+     * @param timestamp The {@link System#nanoTime()} the press was dispatched at.
+     * @param key       The pressed key.
+     */
+    void capturePress(long timestamp, Keys key) {
+        int inputLane = songInfo.getKeyLane(key);
+        if (inputLane != -1 && !laneInputs.offer(timestamp, inputLane, key)) {
+            FastJEngine.log("Dropped {} press: lane input buffer is full", key);
+        }
+    }
+
+    /**
+     * Judges every lane press captured since the last call, in the order they were pressed. Should be called once per
+     * update, before {@link #sweepMisses(double)}.
+     */
+    public void processInputs() {
+        laneInputs.drain(judgeLaneInput);
+    }
+
+    private void judgeLaneInput(long timestamp, int inputLane, Keys key) {
+        TimingSnapshot timingSnapshot = timing.get();
+        double inputTime = timingSnapshot.songPositionAt(timestamp);
+        double inputBeatPosition = timingSnapshot.tempoMap().beatAt(inputTime);
+        if (LogJudgments) {
+            FastJEngine.trace("{} arrow key pressed at {}", key, inputBeatPosition);
         }
+        checkNotes(inputTime, inputBeatPosition, inputLane);
+        metrics.recordInputLatency((System.nanoTime() - timestamp) / 1_000_000d);
 
         if (onLaneKeyPressed != null) {
-            onLaneKeyPressed.accept(keyboardStateEvent);
+            onLaneKeyPressed.accept(key);
         }
     }
 
-    private void checkNotes(double inputBeatPosition, Keys inputKey) {
-        if (inputBeatPosition > songInfo.getNote(songInfo.getNotesLength() - 1) + MaxNoteDistance) {
-            FastJEngine.log("extra note at {}", inputBeatPosition);
+    /** Looks up notes by beat, but measures distances to them in seconds so judgment is unaffected by tempo. */
+    private void checkNotes(double inputTime, double inputBeatPosition, int inputLane) {
+        double maxDistance = judgmentWindows.getMaxDistance();
+        if (inputTime > songInfo.getNoteTime(songInfo.getNotesLength() - 1) + maxDistance) {
+            if (LogJudgments) {
+                FastJEngine.log("extra note at {}", inputBeatPosition);
+            }
             return;
         }
 
-        int nextIndex = songInfo.findIndex(inputBeatPosition, MaxNoteDistance);
+        int[] laneNotes = songInfo.getLaneNoteIndices(inputLane);
+        int lanePosition = songInfo.findLaneIndex(inputLane, inputBeatPosition);
 
-        boolean hasNext = nextIndex != -1 && inputKey == songInfo.getLaneKey(songInfo.getNoteLane(nextIndex));
+        boolean hasNext = lanePosition < laneNotes.length;
+        int nextIndex = hasNext ? laneNotes[lanePosition] : -1;
         double nextNote = 0;
-        if (hasNext) {
-            nextNote = songInfo.getNote(nextIndex);
-            FastJEngine.trace("has next on {}", nextNote);
-        }
         double nextNoteDistance = 0;
         if (hasNext) {
-            nextNoteDistance = Math.abs(nextNote - inputBeatPosition);
+            nextNote = songInfo.getNote(nextIndex);
+            nextNoteDistance = Math.abs(songInfo.getNoteTime(nextIndex) - inputTime);
+            if (LogJudgments) {
+                FastJEngine.trace("has next on {}", nextNote);
+            }
         }
 
-        boolean hasPrevious = nextIndex - 1 >= 0 && inputKey == songInfo.getLaneKey(songInfo.getNoteLane(nextIndex - 1));
+        boolean hasPrevious = lanePosition - 1 >= 0;
+        int previousIndex = hasPrevious ? laneNotes[lanePosition - 1] : -1;
         double previousNote = 0;
-        if (hasPrevious) {
-            previousNote = songInfo.getNote(nextIndex - 1);
-            FastJEngine.trace("has previous on {}", previousNote);
-        }
         double lastNoteDistance = 0;
         if (hasPrevious) {
-            lastNoteDistance = Math.abs(inputBeatPosition - previousNote);
+            previousNote = songInfo.getNote(previousIndex);
+            lastNoteDistance = Math.abs(inputTime - songInfo.getNoteTime(previousIndex));
+            if (LogJudgments) {
+                FastJEngine.trace("has previous on {}", previousNote);
+            }
         }
 
         if (!hasPrevious && hasNext || hasPrevious && hasNext && Double.compare(lastNoteDistance, nextNoteDistance) >= 0) {
-            if (!consumedNotes.contains(nextNote) && checkNote(nextNoteDistance, inputBeatPosition, "next", "Early.")) {
-                consumedNotes.add(nextNote);
-                FastJEngine.trace("consumed {}", nextNote);
+            if (!noteStates.isConsumed(nextIndex) && checkNote(nextIndex, nextNoteDistance, inputBeatPosition, "next", JudgmentFeedback.Early)) {
+                if (LogJudgments) {
+                    FastJEngine.trace("consumed {}", nextNote);
+                }
                 return;
             }
-        } else {
-            if (!consumedNotes.contains(previousNote) && checkNote(lastNoteDistance, inputBeatPosition, "previous", "Late.")) {
-                consumedNotes.add(previousNote);
-                FastJEngine.trace("consumed {}", previousNote);
+        } else if (hasPrevious) {
+            if (!noteStates.isConsumed(previousIndex) && checkNote(previousIndex, lastNoteDistance, inputBeatPosition, "previous", JudgmentFeedback.Late)) {
+                if (LogJudgments) {
+                    FastJEngine.trace("consumed {}", previousNote);
+                }
                 return;
             }
         }
 
-        // why
-        double adjustedMaxDistance = MaxNoteDistance * (conductor.songBpm / 120d);
-        if (nextIndex - 1 >= 0
-                && Math.abs(inputBeatPosition - songInfo.getNote(nextIndex - 1)) < adjustedMaxDistance
-                && !consumedNotes.contains(songInfo.getNote(nextIndex - 1))
-                && inputKey != songInfo.getLaneKey(songInfo.getNoteLane(nextIndex - 1))) {
-            consumedNotes.add(previousNote);
-            FastJEngine.runLater(() -> onSpawnNotice.accept("Wrong Lane!"), CoreLoopState.Update);
-            FastJEngine.log("Input at {} was in the wrong lane.", inputBeatPosition);
+        // nothing to hit in the pressed lane -- check whether the input was meant for a nearby note in another lane
+        int closestIndex = songInfo.findIndex(inputBeatPosition);
+
+        if (closestIndex - 1 >= 0
+                && Math.abs(inputTime - songInfo.getNoteTime(closestIndex - 1)) <= maxDistance
+                && !noteStates.isConsumed(closestIndex - 1)
+                && songInfo.getNoteLane(closestIndex - 1) != inputLane) {
+            noteStates.consume(closestIndex - 1, NoteStates.Missed);
+            scoreKeeper.record(Judgment.Miss);
+            judgmentQueue.add(JudgmentFeedback.WrongLane);
+            if (LogJudgments) {
+                FastJEngine.log("Input at {} was in the wrong lane.", inputBeatPosition);
+            }
             return;
         }
 
-        if (nextIndex != -1
-                && Math.abs(songInfo.getNote(nextIndex) - inputBeatPosition) < adjustedMaxDistance
-                && !consumedNotes.contains(songInfo.getNote(nextIndex))
-                && inputKey != songInfo.getLaneKey(songInfo.getNoteLane(nextIndex))) {
-            consumedNotes.add(songInfo.getNote(nextIndex));
-            FastJEngine.runLater(() -> onSpawnNotice.accept("Wrong Lane!"), CoreLoopState.Update);
-            FastJEngine.log("Input at {} was in the wrong lane.", inputBeatPosition);
+        if (closestIndex < songInfo.getNotesLength()
+                && Math.abs(songInfo.getNoteTime(closestIndex) - inputTime) <= maxDistance
+                && !noteStates.isConsumed(closestIndex)
+                && songInfo.getNoteLane(closestIndex) != inputLane) {
+            noteStates.consume(closestIndex, NoteStates.Missed);
+            scoreKeeper.record(Judgment.Miss);
+            judgmentQueue.add(JudgmentFeedback.WrongLane);
+            if (LogJudgments) {
+                FastJEngine.log("Input at {} was in the wrong lane.", inputBeatPosition);
+            }
         }
     }
 
-    private boolean checkNote(double nextNoteDistance, double inputBeatPosition, String nextOrPrevious, String helpfulTip) {
-        double adjustedMaxDistance = MaxNoteDistance * (conductor.songBpm / 120d);
-        if (nextNoteDistance > adjustedMaxDistance) {
-            FastJEngine.log("extra note at {}", inputBeatPosition);
+    private boolean checkNote(int noteIndex, double noteDistance, double inputBeatPosition, String nextOrPrevious, JudgmentFeedback helpfulTip) {
+        Judgment judgment = judgmentWindows.judge(noteDistance);
+        if (judgment == null) {
+            if (LogJudgments) {
+                FastJEngine.log("extra note at {}", inputBeatPosition);
+            }
             return false;
-        } else {
-            double adjustedPerfectDistance = PerfectNoteDistance * (conductor.songBpm / 120d);
-            String resultMessage = nextNoteDistance < adjustedPerfectDistance ? "Perfect!" : helpfulTip;
-            FastJEngine.log("Input was {} beats away from {} note. {}", nextNoteDistance, nextOrPrevious, resultMessage);
-            FastJEngine.runLater(() -> onSpawnNotice.accept(resultMessage), CoreLoopState.Update);
-            return true;
         }
+
+        noteStates.consume(noteIndex, judgment == Judgment.Miss ? NoteStates.Missed : NoteStates.Hit);
+        scoreKeeper.record(judgment);
+
+        JudgmentFeedback feedback = switch (judgment) {
+            case Perfect -> JudgmentFeedback.Perfect;
+            case Great -> JudgmentFeedback.Great;
+            case Good -> helpfulTip;
+            case Miss -> JudgmentFeedback.Miss;
+        };
+        judgmentQueue.add(feedback);
+
+        if (LogJudgments) {
+            FastJEngine.log("Input was {}s away from {} note. {}", noteDistance, nextOrPrevious, feedback.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Marks every pending note whose late window has expired as missed.
+     * <p>
+     * The sweep keeps a cursor into the chart that only moves forward, so each note is visited once over the whole
+     * song no matter how many updates pass.
+     *
+     * @param songPosition The conductor's current song position, in seconds.
+     */
+    public void sweepMisses(double songPosition) {
+        double missThreshold = songPosition - judgmentWindows.getMaxDistance();
+
+        while (missCursor < songInfo.getNotesLength() && songInfo.getNoteTime(missCursor) < missThreshold) {
+            if (noteStates.consume(missCursor, NoteStates.Missed)) {
+                scoreKeeper.record(Judgment.Miss);
+                judgmentQueue.add(JudgmentFeedback.Miss);
+                if (LogJudgments) {
+                    FastJEngine.trace("missed note {} at {}s", missCursor, songPosition);
+                }
+            }
+
+            missCursor++;
+        }
+    }
+
+    /** Marks every note still pending as missed, for once the song has finished and nothing more can be pressed. */
+    public void missRemainingNotes() {
+        sweepMisses(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Prepares the matcher for the conductor jumping to the provided beat: notes from that beat onwards can be judged
+     * again, and presses made before the jump are discarded.
+     *
+     * @param beat The beat the conductor jumped to.
+     */
+    public void seek(double beat) {
+        int noteIndex = songInfo.findIndex(beat);
+        noteStates.reset(noteIndex, noteStates.size());
+        missCursor = noteIndex;
+        laneInputs.clear();
+        judgmentQueue.clear();
     }
 
-    public void setOnLaneKeyPressed(Consumer<KeyboardStateEvent> onLaneKeyPressed) {
+    public void setOnLaneKeyPressed(Consumer<Keys> onLaneKeyPressed) {
         this.onLaneKeyPressed = onLaneKeyPressed;
     }
 
-    public Set<Double> consumedNotes() {
-        return consumedNotes;
+    public NoteStates noteStates() {
+        return noteStates;
+    }
+
+    public ScoreKeeper scoreKeeper() {
+        return scoreKeeper;
     }
 
     public Conductor conductor() {
@@ -143,8 +281,16 @@ public final class GameInputMatcher implements KeyboardActionListener {
         return songInfo;
     }
 
-    public Consumer<String> onSpawnNotice() {
-        return onSpawnNotice;
+    /**
+     * Gets the queue that judgments are reported through.
+     * <p>
+     * Judgments are queued as input is matched and as notes are swept as missed; the queue should be drained once per
+     * update to show their feedback.
+     *
+     * @return The judgment queue.
+     */
+    public JudgmentQueue judgmentQueue() {
+        return judgmentQueue;
     }
 
     @Override
@@ -156,24 +302,22 @@ public final class GameInputMatcher implements KeyboardActionListener {
             return false;
         }
         var that = (GameInputMatcher) obj;
-        return Objects.equals(this.consumedNotes, that.consumedNotes) &&
+        return Objects.equals(this.noteStates, that.noteStates) &&
                 Objects.equals(this.conductor, that.conductor) &&
-                Objects.equals(this.songInfo, that.songInfo) &&
-                Objects.equals(this.onSpawnNotice, that.onSpawnNotice);
+                Objects.equals(this.songInfo, that.songInfo);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(consumedNotes, conductor, songInfo, onSpawnNotice);
+        return Objects.hash(noteStates, conductor, songInfo);
     }
 
     @Override
     public String toString() {
         return "GameInputMatcher[" +
-                "consumedNotes=" + consumedNotes + ", " +
+                "noteStates=" + noteStates + ", " +
                 "conductor=" + conductor + ", " +
-                "songInfo=" + songInfo + ", " +
-                "onSpawnNotice=" + onSpawnNotice + ']';
+                "songInfo=" + songInfo + ']';
     }
 
 }
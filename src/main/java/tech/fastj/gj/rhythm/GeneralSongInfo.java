@@ -12,6 +12,9 @@ public interface GeneralSongInfo {
 
     double getBpm();
 
+    /** Gets the song's tempo map, which converts its beats to and from seconds. */
+    TempoMap getTempoMap();
+
     double getFirstBeatOffset();
 
     double getNote(int index);
@@ -24,11 +27,13 @@ public interface GeneralSongInfo {
 
     int getNotesLength();
 
-    int getBeatPeekCount();
-
-    int getNextIndex();
+    /**
+     * Finds the first note on or after the provided beat.
+     *
+     * @param beat The beat to search for.
+     * @return The index of the first note on or after {@code beat}, or {@link #getNotesLength()} if there is none.
+     */
+    int findIndex(double beat);
 
-    void incrementNextIndex();
-
-    void resetNextIndex();
+    int getBeatPeekCount();
 }
@@ -0,0 +1,38 @@
+package tech.fastj.gj.rhythm;
+
+/** Letter grade awarded for a play's accuracy. */
+public enum Grade {
+    S(0.95d),
+    A(0.9d),
+    B(0.8d),
+    C(0.7d),
+    D(0d);
+
+    private static final Grade[] Grades = values();
+
+    private final double minimumAccuracy;
+
+    Grade(double minimumAccuracy) {
+        this.minimumAccuracy = minimumAccuracy;
+    }
+
+    public double getMinimumAccuracy() {
+        return minimumAccuracy;
+    }
+
+    /**
+     * Gets the grade for the provided accuracy.
+     *
+     * @param accuracy Accuracy on a scale of {@code 0.0} to {@code 1.0}.
+     * @return The best grade whose minimum accuracy is met.
+     */
+    public static Grade fromAccuracy(double accuracy) {
+        for (Grade grade : Grades) {
+            if (accuracy >= grade.minimumAccuracy) {
+                return grade;
+            }
+        }
+
+        return D;
+    }
+}
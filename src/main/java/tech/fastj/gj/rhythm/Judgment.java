@@ -0,0 +1,11 @@
+package tech.fastj.gj.rhythm;
+
+/** How accurately a note was hit, from best to worst. */
+public enum Judgment {
+    Perfect,
+    Great,
+    Good,
+    Miss;
+
+    static final Judgment[] Tiers = values();
+}
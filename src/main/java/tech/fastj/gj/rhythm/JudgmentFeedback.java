@@ -0,0 +1,23 @@
+package tech.fastj.gj.rhythm;
+
+/** The feedback shown to the player for a single judged note. */
+public enum JudgmentFeedback {
+    Perfect("Perfect!"),
+    Great("Great!"),
+    Early("Early."),
+    Late("Late."),
+    Miss("Miss!"),
+    WrongLane("Wrong Lane!");
+
+    static final JudgmentFeedback[] Values = values();
+
+    private final String message;
+
+    JudgmentFeedback(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,143 @@
+package tech.fastj.gj.rhythm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Timing windows for each {@link Judgment}, in milliseconds either side of a note.
+ * <p>
+ * Windows are defined in time rather than beats so they feel the same regardless of a song's tempo. A press further
+ * from a note than the miss window is not judged against that note at all.
+ */
+public class JudgmentProfile {
+
+    public static final String Standard = "standard";
+    public static final String Lenient = "lenient";
+
+    private String name;
+    private double perfectWindowMs;
+    private double greatWindowMs;
+    private double goodWindowMs;
+    private double missWindowMs;
+
+    public JudgmentProfile() {
+    }
+
+    public JudgmentProfile(String name, double perfectWindowMs, double greatWindowMs, double goodWindowMs, double missWindowMs) {
+        this.name = name;
+        this.perfectWindowMs = perfectWindowMs;
+        this.greatWindowMs = greatWindowMs;
+        this.goodWindowMs = goodWindowMs;
+        this.missWindowMs = missWindowMs;
+    }
+
+    /**
+     * Loads a bundled judgment profile.
+     *
+     * @param profileName The profile's name, such as {@link #Standard}.
+     * @return The loaded profile.
+     * @throws IllegalStateException If there is no such profile, or it couldn't be read.
+     */
+    public static JudgmentProfile load(String profileName) {
+        String resourcePath = "/judgment/" + profileName + ".json";
+        InputStream profileStream = JudgmentProfile.class.getResourceAsStream(resourcePath);
+        if (profileStream == null) {
+            throw new IllegalStateException("Couldn't find judgment profile " + profileName + " at " + resourcePath);
+        }
+
+        JudgmentProfile judgmentProfile;
+        try (Reader profileReader = new InputStreamReader(profileStream, StandardCharsets.UTF_8)) {
+            judgmentProfile = new Gson().fromJson(profileReader, JudgmentProfile.class);
+        } catch (IOException | JsonParseException exception) {
+            throw new IllegalStateException("Couldn't load judgment profile " + profileName, exception);
+        }
+
+        if (judgmentProfile == null) {
+            throw new IllegalStateException("Judgment profile " + profileName + " is empty");
+        }
+
+        return judgmentProfile.validate();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPerfectWindowMs() {
+        return perfectWindowMs;
+    }
+
+    public double getGreatWindowMs() {
+        return greatWindowMs;
+    }
+
+    public double getGoodWindowMs() {
+        return goodWindowMs;
+    }
+
+    public double getMissWindowMs() {
+        return missWindowMs;
+    }
+
+    /**
+     * Gets the window for the provided judgment.
+     *
+     * @param judgment The judgment.
+     * @return The judgment's window, in milliseconds.
+     */
+    public double getWindowMs(Judgment judgment) {
+        return switch (judgment) {
+            case Perfect -> perfectWindowMs;
+            case Great -> greatWindowMs;
+            case Good -> goodWindowMs;
+            case Miss -> missWindowMs;
+        };
+    }
+
+    private JudgmentProfile validate() {
+        if (perfectWindowMs <= 0d || perfectWindowMs > greatWindowMs || greatWindowMs > goodWindowMs || goodWindowMs > missWindowMs) {
+            throw new IllegalStateException("Judgment windows of profile " + name + " must be positive and increasing: " + this);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JudgmentProfile judgmentProfile = (JudgmentProfile) o;
+        return Double.compare(judgmentProfile.perfectWindowMs, perfectWindowMs) == 0
+                && Double.compare(judgmentProfile.greatWindowMs, greatWindowMs) == 0
+                && Double.compare(judgmentProfile.goodWindowMs, goodWindowMs) == 0
+                && Double.compare(judgmentProfile.missWindowMs, missWindowMs) == 0
+                && Objects.equals(name, judgmentProfile.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, perfectWindowMs, greatWindowMs, goodWindowMs, missWindowMs);
+    }
+
+    @Override
+    public String toString() {
+        return "JudgmentProfile{" +
+                "name='" + name + '\'' +
+                ", perfectWindowMs=" + perfectWindowMs +
+                ", greatWindowMs=" + greatWindowMs +
+                ", goodWindowMs=" + goodWindowMs +
+                ", missWindowMs=" + missWindowMs +
+                '}';
+    }
+}
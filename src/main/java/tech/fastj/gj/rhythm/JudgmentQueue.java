@@ -0,0 +1,67 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * A fixed-size queue of {@link JudgmentFeedback judgment feedback}, filled by input judgment and drained once per update
+ * by whatever shows that feedback.
+ * <p>
+ * Feedback is stored as ordinals in a preallocated ring, so queueing a judgment never allocates. If the queue fills up
+ * before it is drained, the oldest feedback is dropped -- only the most recent judgments are worth showing.
+ */
+public final class JudgmentQueue {
+
+    private final byte[] feedback;
+    private int head;
+    private int size;
+
+    public JudgmentQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Judgment queue capacity must be positive, got " + capacity);
+        }
+
+        this.feedback = new byte[capacity];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds feedback to the back of the queue, dropping the oldest feedback if the queue is full.
+     *
+     * @param judgmentFeedback The feedback to add.
+     */
+    public void add(JudgmentFeedback judgmentFeedback) {
+        if (size == feedback.length) {
+            head = (head + 1) % feedback.length;
+            size--;
+        }
+
+        feedback[(head + size) % feedback.length] = (byte) judgmentFeedback.ordinal();
+        size++;
+    }
+
+    /**
+     * Removes the feedback at the front of the queue.
+     *
+     * @return The removed feedback, or {@code null} if the queue is empty.
+     */
+    public JudgmentFeedback poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        JudgmentFeedback judgmentFeedback = JudgmentFeedback.Values[feedback[head]];
+        head = (head + 1) % feedback.length;
+        size--;
+        return judgmentFeedback;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
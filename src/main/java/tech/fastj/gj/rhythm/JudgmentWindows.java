@@ -0,0 +1,57 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * A {@link JudgmentProfile}'s windows converted into seconds, so judging a press is a handful of comparisons against
+ * precomputed thresholds.
+ * <p>
+ * Presses are judged by their distance in time rather than in beats, so the windows stay the same size through tempo
+ * changes.
+ */
+public final class JudgmentWindows {
+
+    private final double[] thresholds;
+
+    private JudgmentWindows(double[] thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Converts the profile's windows into seconds.
+     *
+     * @param profile The judgment profile.
+     * @return The profile's judgment windows.
+     */
+    public static JudgmentWindows of(JudgmentProfile profile) {
+        double[] thresholds = new double[Judgment.Tiers.length];
+        for (int i = 0; i < Judgment.Tiers.length; i++) {
+            thresholds[i] = profile.getWindowMs(Judgment.Tiers[i]) / 1000d;
+        }
+
+        return new JudgmentWindows(thresholds);
+    }
+
+    /**
+     * Judges a press the provided distance away from a note.
+     *
+     * @param distance The absolute distance between the press and the note, in seconds.
+     * @return The press's judgment, or {@code null} if the press is too far from the note to be judged against it.
+     */
+    public Judgment judge(double distance) {
+        for (int i = 0; i < thresholds.length; i++) {
+            if (distance <= thresholds[i]) {
+                return Judgment.Tiers[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the furthest distance from a note at which a press is still judged against it.
+     *
+     * @return The miss window, in seconds.
+     */
+    public double getMaxDistance() {
+        return thresholds[thresholds.length - 1];
+    }
+}
@@ -0,0 +1,147 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.input.keyboard.Keys;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Per-lane lookup tables for a chart, built once so input judgment can jump straight to the notes in the lane that
+ * was pressed.
+ * <p>
+ * Both the chart's notes and each lane's note indices are sorted by beat, so every lookup is a binary search.
+ */
+final class LaneIndex {
+
+    private static final int[] NoNotes = new int[0];
+
+    private final Keys[] laneKeys;
+    private final int[] laneNumbers;
+    private final int[][] laneNoteIndices;
+
+    private LaneIndex(Keys[] laneKeys, int[] laneNumbers, int[][] laneNoteIndices) {
+        this.laneKeys = laneKeys;
+        this.laneNumbers = laneNumbers;
+        this.laneNoteIndices = laneNoteIndices;
+    }
+
+    static LaneIndex build(double[] notes, int[] noteLanes, Map<Integer, Keys> laneKeyMap) {
+        int laneCount = laneKeyMap.size();
+        Keys[] laneKeys = new Keys[laneCount];
+        int[] laneNumbers = new int[laneCount];
+
+        int lanePosition = 0;
+        for (Map.Entry<Integer, Keys> laneKey : laneKeyMap.entrySet()) {
+            laneNumbers[lanePosition] = laneKey.getKey();
+            laneKeys[lanePosition] = laneKey.getValue();
+            lanePosition++;
+        }
+
+        int[] laneSizes = new int[laneCount];
+        for (int noteLane : noteLanes) {
+            int position = positionOf(laneNumbers, noteLane);
+            if (position != -1) {
+                laneSizes[position]++;
+            }
+        }
+
+        int[][] laneNoteIndices = new int[laneCount][];
+        for (int i = 0; i < laneCount; i++) {
+            laneNoteIndices[i] = new int[laneSizes[i]];
+        }
+
+        Arrays.fill(laneSizes, 0);
+        for (int i = 0; i < notes.length; i++) {
+            int position = positionOf(laneNumbers, noteLanes[i]);
+            if (position != -1) {
+                laneNoteIndices[position][laneSizes[position]++] = i;
+            }
+        }
+
+        return new LaneIndex(laneKeys, laneNumbers, laneNoteIndices);
+    }
+
+    /**
+     * Gets the lane number for the provided key.
+     *
+     * @param key The key to look for.
+     * @return The key's lane number, or {@code -1} if no lane uses the key.
+     */
+    int getKeyLane(Keys key) {
+        for (int i = 0; i < laneKeys.length; i++) {
+            if (laneKeys[i] == key) {
+                return laneNumbers[i];
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the indices of the notes in the provided lane, ordered by beat.
+     *
+     * @param lane The lane number.
+     * @return The lane's note indices, or an empty array if the lane doesn't exist.
+     */
+    int[] getLaneNoteIndices(int lane) {
+        int position = positionOf(laneNumbers, lane);
+        return position == -1 ? NoNotes : laneNoteIndices[position];
+    }
+
+    /**
+     * Finds the first position in {@code indices} whose note is on or after {@code beat}.
+     *
+     * @param notes   The chart's notes.
+     * @param indices Indices into {@code notes}, ordered by beat.
+     * @param beat    The beat to search for.
+     * @return The first matching position, or {@code indices.length} if every note is before {@code beat}.
+     */
+    static int lowerBound(double[] notes, int[] indices, double beat) {
+        int low = 0;
+        int high = indices.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (notes[indices[middle]] < beat) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the first index in {@code notes} whose beat is on or after {@code beat}.
+     *
+     * @param notes The chart's notes, ordered by beat.
+     * @param beat  The beat to search for.
+     * @return The first matching index, or {@code notes.length} if every note is before {@code beat}.
+     */
+    static int lowerBound(double[] notes, double beat) {
+        int low = 0;
+        int high = notes.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (notes[middle] < beat) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private static int positionOf(int[] laneNumbers, int lane) {
+        for (int i = 0; i < laneNumbers.length; i++) {
+            if (laneNumbers[i] == lane) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
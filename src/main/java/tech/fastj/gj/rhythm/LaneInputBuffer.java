@@ -0,0 +1,105 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.input.keyboard.Keys;
+
+/**
+ * A bounded single-producer, single-consumer queue of lane key presses.
+ * <p>
+ * The thread that dispatches input adds each press along with the {@link System#nanoTime()} it was dispatched at, and
+ * the game loop drains every queued press at once during its update. Presses are stored in preallocated arrays and
+ * handed over through two volatile counters, so neither side locks or allocates. If the game loop falls far enough
+ * behind to fill the buffer, new presses are dropped and counted.
+ */
+public final class LaneInputBuffer {
+
+    private final long[] timestamps;
+    private final int[] lanes;
+    private final Keys[] keys;
+    private final int mask;
+
+    /** Total presses added. Only written by the producer. */
+    private volatile long tail;
+    /** Total presses drained. Only written by the consumer. */
+    private volatile long head;
+    private volatile long droppedCount;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity The buffer's capacity, which must be a power of two.
+     */
+    public LaneInputBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Lane input buffer capacity must be a positive power of two, got " + capacity);
+        }
+
+        this.timestamps = new long[capacity];
+        this.lanes = new int[capacity];
+        this.keys = new Keys[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds a press to the buffer. Must only be called from the producing thread.
+     *
+     * @param timestamp The {@link System#nanoTime()} the press was dispatched at.
+     * @param lane      The lane the pressed key belongs to.
+     * @param key       The pressed key.
+     * @return Whether the press was added; {@code false} if the buffer was full.
+     */
+    public boolean offer(long timestamp, int lane, Keys key) {
+        long currentTail = tail;
+        if (currentTail - head == timestamps.length) {
+            droppedCount++;
+            return false;
+        }
+
+        int slot = (int) (currentTail & mask);
+        timestamps[slot] = timestamp;
+        lanes[slot] = lane;
+        keys[slot] = key;
+
+        // publishes the slot's contents along with the new tail
+        tail = currentTail + 1;
+        return true;
+    }
+
+    /**
+     * Hands every buffered press to the provided consumer, oldest first. Must only be called from the consuming thread.
+     *
+     * @param consumer The consumer of each press.
+     * @return The number of presses drained.
+     */
+    public int drain(LaneInputConsumer consumer) {
+        long currentHead = head;
+        long currentTail = tail;
+
+        for (long position = currentHead; position < currentTail; position++) {
+            int slot = (int) (position & mask);
+            consumer.accept(timestamps[slot], lanes[slot], keys[slot]);
+        }
+
+        head = currentTail;
+        return (int) (currentTail - currentHead);
+    }
+
+    /** Discards every buffered press. Must only be called from the consuming thread. */
+    public void clear() {
+        head = tail;
+    }
+
+    /** Gets the number of presses waiting to be drained. */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    /** Gets the number of presses dropped because the buffer was full. */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    @FunctionalInterface
+    public interface LaneInputConsumer {
+        void accept(long timestamp, int lane, Keys key);
+    }
+}
@@ -0,0 +1,105 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of durations in milliseconds.
+ * <p>
+ * Values are counted into equal-width buckets held in a primitive array, so recording never allocates. Values past
+ * the last bucket are counted in it, while the exact maximum is tracked separately.
+ */
+public final class LatencyHistogram {
+
+    private final double bucketWidthMs;
+    private final long[] buckets;
+
+    private long count;
+    private double totalMs;
+    private double maxMs;
+    private double lastMs;
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param bucketWidthMs The width of each bucket, in milliseconds.
+     * @param bucketCount   The number of buckets.
+     */
+    public LatencyHistogram(double bucketWidthMs, int bucketCount) {
+        if (!(bucketWidthMs > 0d) || bucketCount <= 0) {
+            throw new IllegalArgumentException("Histogram buckets must have a positive width and count, got " + bucketCount + " of " + bucketWidthMs + "ms");
+        }
+
+        this.bucketWidthMs = bucketWidthMs;
+        this.buckets = new long[bucketCount];
+    }
+
+    /**
+     * Records a duration. Negative durations are recorded by their magnitude.
+     *
+     * @param valueMs The duration, in milliseconds.
+     */
+    public void record(double valueMs) {
+        double magnitude = Math.abs(valueMs);
+        int bucket = (int) Math.min(magnitude / bucketWidthMs, buckets.length - 1);
+        buckets[bucket]++;
+
+        count++;
+        totalMs += magnitude;
+        maxMs = Math.max(maxMs, magnitude);
+        lastMs = valueMs;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** Gets the last recorded value, including its sign. */
+    public double getLastMs() {
+        return lastMs;
+    }
+
+    public double getMeanMs() {
+        return count == 0L ? 0d : totalMs / count;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param percentile The percentile, from {@code 0} to {@code 1}.
+     * @return The upper bound of the bucket containing the percentile, capped at the maximum recorded duration, or
+     * {@code 0} if nothing has been recorded.
+     */
+    public double getPercentileMs(double percentile) {
+        if (count == 0L) {
+            return 0d;
+        }
+
+        long target = Math.max(1L, (long) Math.ceil(percentile * count));
+        long seen = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min((i + 1) * bucketWidthMs, maxMs);
+            }
+        }
+
+        return maxMs;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0L);
+        count = 0L;
+        totalMs = 0d;
+        maxMs = 0d;
+        lastMs = 0d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("avg %.1f / p99 %.1f / max %.1f ms", getMeanMs(), getPercentileMs(0.99d), maxMs);
+    }
+}
@@ -0,0 +1,14 @@
+package tech.fastj.gj.rhythm;
+
+/** Spawns the visual for a music note once the {@link Conductor} decides it is due. */
+@FunctionalInterface
+public interface NoteSpawner {
+
+    /**
+     * Spawns a music note.
+     *
+     * @param note     The beat the note should be hit on.
+     * @param noteLane The lane the note falls in.
+     */
+    void spawn(double note, int noteLane);
+}
@@ -0,0 +1,108 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Arrays;
+
+/**
+ * Judgment state of every note in a chart during one play session, stored per note index.
+ * <p>
+ * Notes are tracked by index rather than by beat, so notes sharing a beat in different lanes are judged separately.
+ */
+public final class NoteStates {
+
+    /** The note has not been judged yet. */
+    public static final byte Pending = 0;
+    /** The note was hit. */
+    public static final byte Hit = 1;
+    /** The note was missed, or pressed in the wrong lane. */
+    public static final byte Missed = 2;
+
+    private final byte[] states;
+
+    public NoteStates(int noteCount) {
+        this.states = new byte[noteCount];
+    }
+
+    public int size() {
+        return states.length;
+    }
+
+    public byte get(int index) {
+        return states[index];
+    }
+
+    public boolean isConsumed(int index) {
+        return states[index] != Pending;
+    }
+
+    /**
+     * Marks the note at the provided index with the provided state, if it has not been judged yet.
+     *
+     * @param index The note's index.
+     * @param state The note's new state.
+     * @return Whether the note was pending before this call.
+     */
+    public boolean consume(int index, byte state) {
+        if (states[index] != Pending) {
+            return false;
+        }
+
+        states[index] = state;
+        return true;
+    }
+
+    /**
+     * Counts the notes in the provided state.
+     *
+     * @param state The state to count.
+     * @return The number of notes in {@code state}.
+     */
+    public int count(byte state) {
+        int count = 0;
+        for (byte noteState : states) {
+            if (noteState == state) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /** Marks every note as pending again, reusing the existing storage. */
+    public void reset() {
+        Arrays.fill(states, Pending);
+    }
+
+    /**
+     * Marks the notes in the provided index range as pending again.
+     *
+     * @param fromIndex The first note to reset, inclusive.
+     * @param toIndex   The last note to reset, exclusive.
+     */
+    public void reset(int fromIndex, int toIndex) {
+        Arrays.fill(states, fromIndex, toIndex, Pending);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NoteStates noteStates = (NoteStates) o;
+        return Arrays.equals(states, noteStates.states);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(states);
+    }
+
+    @Override
+    public String toString() {
+        return "NoteStates{" +
+                "states=" + Arrays.toString(states) +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Arrays;
+
+/**
+ * Measures how late a player hears audio by comparing their taps along to a click track against when each click was
+ * scheduled.
+ * <p>
+ * Each tap is matched to its nearest click. The offset is the median of those differences after taps far from the
+ * median are thrown out, so a few stray or missed taps don't skew it.
+ */
+public final class OffsetCalibration {
+
+    /** How many taps are needed before an offset is computed. */
+    public static final int MinimumTaps = 8;
+
+    /** Taps further than this many median absolute deviations from the median are treated as outliers. */
+    private static final double OutlierDeviations = 3d;
+    /** The smallest deviation used for outlier rejection, so very consistent tapping doesn't reject everything. */
+    private static final double MinimumDeviationMs = 5d;
+
+    private final long clickIntervalNanos;
+    private final int clickCount;
+    private final long[] taps;
+    private int tapCount;
+
+    /**
+     * Creates a calibration for a click track.
+     *
+     * @param clickIntervalSeconds The time between clicks, in seconds.
+     * @param clickCount           The number of clicks in the track.
+     */
+    public OffsetCalibration(double clickIntervalSeconds, int clickCount) {
+        this.clickIntervalNanos = (long) (clickIntervalSeconds * 1_000_000_000d);
+        this.clickCount = clickCount;
+        this.taps = new long[clickCount * 2];
+    }
+
+    /**
+     * Records a tap. Taps past twice the number of clicks are ignored.
+     *
+     * @param tapNanos The {@link System#nanoTime()} value of the tap.
+     */
+    public void addTap(long tapNanos) {
+        if (tapCount < taps.length) {
+            taps[tapCount++] = tapNanos;
+        }
+    }
+
+    public int getTapCount() {
+        return tapCount;
+    }
+
+    public void reset() {
+        tapCount = 0;
+    }
+
+    /**
+     * Computes the player's audio offset.
+     *
+     * @param firstClickNanos The {@link System#nanoTime()} value the first click was played at.
+     * @return How long after each click the player tapped, in milliseconds, or {@link Double#NaN} if there are fewer
+     * than {@link #MinimumTaps} taps.
+     */
+    public double computeOffsetMs(long firstClickNanos) {
+        if (tapCount < MinimumTaps) {
+            return Double.NaN;
+        }
+
+        double[] offsetsMs = new double[tapCount];
+        for (int i = 0; i < tapCount; i++) {
+            long sinceFirstClick = taps[i] - firstClickNanos;
+            long click = Math.max(0L, Math.min(clickCount - 1L, Math.round((double) sinceFirstClick / clickIntervalNanos)));
+            offsetsMs[i] = (sinceFirstClick - (click * clickIntervalNanos)) / 1_000_000d;
+        }
+
+        return robustMedian(offsetsMs);
+    }
+
+    /** Finds the median of the values that are within a few median absolute deviations of the overall median. */
+    static double robustMedian(double[] values) {
+        double median = median(values.clone());
+
+        double[] deviations = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            deviations[i] = Math.abs(values[i] - median);
+        }
+        double maxDeviation = OutlierDeviations * Math.max(median(deviations), MinimumDeviationMs);
+
+        double[] inliers = new double[values.length];
+        int inlierCount = 0;
+        for (double value : values) {
+            if (Math.abs(value - median) <= maxDeviation) {
+                inliers[inlierCount++] = value;
+            }
+        }
+
+        return median(Arrays.copyOf(inliers, inlierCount));
+    }
+
+    /** Finds the median of the values, sorting them in place. */
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2d;
+    }
+}
@@ -0,0 +1,65 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * A play session's position within a chart: the index of the next note to spawn.
+ * <p>
+ * The chart itself is never modified during play, so any number of sessions can read the same chart, each through
+ * its own cursor.
+ */
+public final class PlaybackCursor {
+
+    private final GeneralSongInfo chart;
+    private int nextIndex;
+
+    public PlaybackCursor(GeneralSongInfo chart) {
+        this.chart = chart;
+    }
+
+    public GeneralSongInfo getChart() {
+        return chart;
+    }
+
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    /** Whether there are notes left to spawn. */
+    public boolean hasNext() {
+        return nextIndex < chart.getNotesLength();
+    }
+
+    /** Gets the beat of the next note to spawn. Only valid while {@link #hasNext()} is {@code true}. */
+    public double peekNote() {
+        return chart.getNote(nextIndex);
+    }
+
+    /** Gets the lane of the next note to spawn. Only valid while {@link #hasNext()} is {@code true}. */
+    public int peekNoteLane() {
+        return chart.getNoteLane(nextIndex);
+    }
+
+    public void advance() {
+        nextIndex++;
+    }
+
+    /**
+     * Moves the cursor to the first note on or after the provided beat.
+     *
+     * @param beat The beat to move to.
+     */
+    public void seek(double beat) {
+        nextIndex = chart.findIndex(beat);
+    }
+
+    public void reset() {
+        nextIndex = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaybackCursor{" +
+            "chart=" + chart.getSongName() +
+            ", nextIndex=" + nextIndex +
+            '}';
+    }
+}
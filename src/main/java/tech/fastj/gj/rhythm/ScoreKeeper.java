@@ -0,0 +1,112 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Arrays;
+
+/**
+ * Tallies a play session's judgments into counts, combo, score and accuracy.
+ * <p>
+ * Everything is kept in primitive counters, so recording a judgment never allocates.
+ */
+public final class ScoreKeeper {
+
+    /** Points awarded per judgment, indexed by {@link Judgment#ordinal()}. */
+    private static final int[] JudgmentPoints = {300, 200, 100, 0};
+    /** Accuracy weight per judgment, indexed by {@link Judgment#ordinal()}. */
+    private static final double[] JudgmentWeights = {1d, 0.75d, 0.5d, 0d};
+    /** Every this many combo hits, the points per note go up by one multiplier step. */
+    private static final int ComboStep = 10;
+    private static final int MaxMultiplier = 4;
+
+    private final int[] judgmentCounts;
+    private int combo;
+    private int maxCombo;
+    private long score;
+    private double weightedHits;
+
+    public ScoreKeeper() {
+        this.judgmentCounts = new int[Judgment.Tiers.length];
+    }
+
+    /**
+     * Records the judgment of a single note.
+     *
+     * @param judgment The note's judgment.
+     */
+    public void record(Judgment judgment) {
+        int tier = judgment.ordinal();
+        judgmentCounts[tier]++;
+        weightedHits += JudgmentWeights[tier];
+
+        if (judgment == Judgment.Miss) {
+            combo = 0;
+            return;
+        }
+
+        combo++;
+        maxCombo = Math.max(maxCombo, combo);
+        score += (long) JudgmentPoints[tier] * Math.min(1 + (combo / ComboStep), MaxMultiplier);
+    }
+
+    public int getCount(Judgment judgment) {
+        return judgmentCounts[judgment.ordinal()];
+    }
+
+    public int getJudgedCount() {
+        int judgedCount = 0;
+        for (int judgmentCount : judgmentCounts) {
+            judgedCount += judgmentCount;
+        }
+
+        return judgedCount;
+    }
+
+    public int getHitCount() {
+        return getJudgedCount() - getCount(Judgment.Miss);
+    }
+
+    public int getCombo() {
+        return combo;
+    }
+
+    public int getMaxCombo() {
+        return maxCombo;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the weighted accuracy of every judgment recorded so far.
+     *
+     * @return Accuracy on a scale of {@code 0.0} to {@code 1.0}, or {@code 1.0} if nothing has been judged yet.
+     */
+    public double getAccuracy() {
+        int judgedCount = getJudgedCount();
+        return judgedCount == 0 ? 1d : weightedHits / judgedCount;
+    }
+
+    public Grade getGrade() {
+        return Grade.fromAccuracy(getAccuracy());
+    }
+
+    /** Clears all counters for a new play. */
+    public void reset() {
+        Arrays.fill(judgmentCounts, 0);
+        combo = 0;
+        maxCombo = 0;
+        score = 0L;
+        weightedHits = 0d;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreKeeper{" +
+                "judgmentCounts=" + Arrays.toString(judgmentCounts) +
+                ", combo=" + combo +
+                ", maxCombo=" + maxCombo +
+                ", score=" + score +
+                ", accuracy=" + getAccuracy() +
+                '}';
+    }
+}
@@ -1,6 +1,5 @@
 package tech.fastj.gj.rhythm;
 
-import tech.fastj.engine.FastJEngine;
 import tech.fastj.input.keyboard.Keys;
 
 import java.util.Arrays;
@@ -10,17 +9,25 @@ import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.TreeMap;
 
+/**
+ * A chart loaded for play. Its note data is never modified once loaded, so one chart can be shared by any number of
+ * play sessions, each tracking its own position through a {@link PlaybackCursor}.
+ */
 public class SongInfo implements GeneralSongInfo {
 
     private String songName;
     private double bpm;
+    private TempoChange[] tempoChanges;
     private double[] notes;
     private int[] noteLanes;
     private TreeMap<Integer, Keys> laneKeys;
-    int nextIndex;
     private int beatPeekCount;
     private double firstBeatOffset;
     private String musicPath;
+    // lookup tables built on first use -- volatile, as a shared chart may be first used from more than one thread
+    private transient volatile LaneIndex laneIndex;
+    private transient volatile TempoMap tempoMap;
+    private transient volatile double[] noteTimes;
 
     public SongInfo() {
     }
@@ -32,7 +39,6 @@ public class SongInfo implements GeneralSongInfo {
         this.noteLanes = noteLanes;
         this.laneKeys = laneKeys;
         this.musicPath = musicPath;
-        this.nextIndex = 0;
         this.beatPeekCount = beatPeekCount;
         this.firstBeatOffset = firstBeatOffset;
     }
@@ -50,6 +56,17 @@ public class SongInfo implements GeneralSongInfo {
         return bpm;
     }
 
+    @Override
+    public TempoMap getTempoMap() {
+        TempoMap map = tempoMap;
+        if (map == null) {
+            map = TempoMap.build(bpm, tempoChanges);
+            tempoMap = map;
+        }
+
+        return map;
+    }
+
     public double getFirstBeatOffset() {
         return firstBeatOffset;
     }
@@ -62,6 +79,28 @@ public class SongInfo implements GeneralSongInfo {
         return noteLanes[index];
     }
 
+    /**
+     * Gets the time of the note at the provided index. Note times are converted through the tempo map once, the first
+     * time any is requested.
+     *
+     * @param index The note's index.
+     * @return The note's time, in seconds from beat 0.
+     */
+    public double getNoteTime(int index) {
+        double[] times = noteTimes;
+        if (times == null) {
+            TempoMap tempoMap = getTempoMap();
+            times = new double[notes.length];
+            for (int i = 0; i < notes.length; i++) {
+                times[i] = tempoMap.secondsAt(notes[i]);
+            }
+
+            noteTimes = times;
+        }
+
+        return times[index];
+    }
+
     public List<Keys> getLaneKeys() {
         return laneKeys.values().stream().toList();
     }
@@ -82,34 +121,77 @@ public class SongInfo implements GeneralSongInfo {
         return beatPeekCount;
     }
 
+    /**
+     * Finds the first note on or after the provided beat.
+     *
+     * @param beat The beat to search for.
+     * @return The index of the first note on or after {@code beat}, or {@link #getNotesLength()} if there is none.
+     */
     @Override
-    public int getNextIndex() {
-        return nextIndex;
+    public int findIndex(double beat) {
+        return LaneIndex.lowerBound(notes, beat);
     }
 
-    @Override
-    public void incrementNextIndex() {
-        nextIndex++;
+    /**
+     * Gets the lane number for the provided key.
+     *
+     * @param key The key to look for.
+     * @return The key's lane number, or {@code -1} if no lane uses the key.
+     */
+    public int getKeyLane(Keys key) {
+        return laneIndex().getKeyLane(key);
     }
 
-    @Override
-    public void resetNextIndex() {
-        nextIndex = 0;
+    /**
+     * Gets the indices of the notes in the provided lane, ordered by beat. The returned array is shared and must not
+     * be modified.
+     */
+    int[] getLaneNoteIndices(int lane) {
+        return laneIndex().getLaneNoteIndices(lane);
+    }
+
+    /**
+     * Finds the first note in the provided lane on or after the provided beat.
+     *
+     * @return The position within {@link #getLaneNoteIndices(int)} of the first note on or after {@code beat}.
+     */
+    int findLaneIndex(int lane, double beat) {
+        return LaneIndex.lowerBound(notes, getLaneNoteIndices(lane), beat);
+    }
+
+    /** Whether the chart has all of its note data, with a lane for every note. */
+    public boolean isComplete() {
+        return notes != null && noteLanes != null && laneKeys != null && notes.length == noteLanes.length;
     }
 
-    public int findIndex(double beat, double maxBeatDistance) {
-        if (beat + maxBeatDistance >= notes[notes.length - 1]) {
-            return -1;
+    /** Builds every lookup table up front, instead of on first use. */
+    void prepare() {
+        getTempoMap();
+        laneIndex();
+        if (notes.length > 0) {
+            getNoteTime(0);
         }
+    }
 
-        for (int i = 0; i < notes.length; i++) {
-            if (beat <= notes[i]) {
-                FastJEngine.log("{} <= {}", beat, notes[i]);
-                return i;
-            }
+    /**
+     * Estimates how much memory the chart takes up, including its lookup tables.
+     *
+     * @return The chart's estimated size, in bytes.
+     */
+    long estimateSizeBytes() {
+        // the note beat and time (8 bytes each), lane (4 bytes), and lane index entry (4 bytes) of each note, plus a
+        // rough allowance for the chart's other fields and object headers
+        return 512L + notes.length * 24L;
+    }
+
+    private LaneIndex laneIndex() {
+        LaneIndex index = laneIndex;
+        if (index == null) {
+            index = LaneIndex.build(notes, noteLanes, laneKeys);
+            laneIndex = index;
         }
 
-        return notes.length - 1;
+        return index;
     }
 
     @Override
@@ -122,6 +204,7 @@ public class SongInfo implements GeneralSongInfo {
         }
         SongInfo songInfo = (SongInfo) o;
         return Double.compare(songInfo.bpm, bpm) == 0
+            && Arrays.equals(tempoChanges, songInfo.tempoChanges)
             && beatPeekCount == songInfo.beatPeekCount
             && Double.compare(songInfo.firstBeatOffset, firstBeatOffset) == 0
             && Arrays.equals(notes, songInfo.notes)
@@ -132,7 +215,8 @@ public class SongInfo implements GeneralSongInfo {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(bpm, laneKeys, nextIndex, beatPeekCount, firstBeatOffset, musicPath);
+        int result = Objects.hash(bpm, laneKeys, beatPeekCount, firstBeatOffset, musicPath);
+        result = 31 * result + Arrays.hashCode(tempoChanges);
         result = 31 * result + Arrays.hashCode(notes);
         result = 31 * result + Arrays.hashCode(noteLanes);
         return result;
@@ -142,9 +226,9 @@ public class SongInfo implements GeneralSongInfo {
     public String toString() {
         return "SongInfo{" +
             "bpm=" + bpm +
+            ", tempoChanges=" + Arrays.toString(tempoChanges) +
             ", beatPeekCount=" + beatPeekCount +
             ", firstBeatOffset=" + firstBeatOffset +
-            ", nextIndex=" + nextIndex +
             ", musicPath='" + musicPath + '\'' +
             ", notes=" + Arrays.toString(notes) +
             ", noteLanes=" + Arrays.toString(noteLanes) +
@@ -0,0 +1,154 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.engine.FastJEngine;
+import tech.fastj.gameloop.CoreLoopState;
+import tech.fastj.gj.loading.Warmup;
+import tech.fastj.logging.Log;
+import tech.fastj.systems.audio.Audio;
+import tech.fastj.systems.audio.AudioEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gets the song the player is focused on ready to play before they pick it.
+ * <p>
+ * When a song is focused, a background thread parses its chart through the {@link ChartRepository} and reads the
+ * start of its music, warming up the audio decoder and the file cache. The music is then opened on the game loop, so
+ * picking the song hands both straight to the game instead of loading them during the scene switch. Focusing another
+ * song cancels the previous prefetch and releases anything it loaded.
+ * <p>
+ * Every method besides the background work itself must be called from the game loop thread.
+ */
+public class SongPrefetcher {
+
+    /** How long a song must stay focused before it's prefetched, so scrolling past songs doesn't load each of them. */
+    private static final long FocusDelayMillis = 120L;
+
+    private final ExecutorService executor;
+    private Prefetch current;
+
+    public SongPrefetcher() {
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread prefetchThread = new Thread(task, "song-prefetch");
+            prefetchThread.setDaemon(true);
+            return prefetchThread;
+        });
+    }
+
+    /**
+     * Starts prefetching the provided song, cancelling any other song's prefetch.
+     *
+     * @param chartPath The path of the song's chart.
+     * @param seekable  Whether the song will be played {@link Conductor#seek(double) seekable}. Seekable music is
+     *                  loaded whole into memory, which is left to the conductor rather than done while browsing.
+     */
+    public void focus(Path chartPath, boolean seekable) {
+        if (current != null && current.chartPath.equals(chartPath) && current.seekable == seekable) {
+            return;
+        }
+
+        cancel();
+        Prefetch prefetch = new Prefetch(chartPath, seekable);
+        prefetch.future = executor.submit(() -> prepare(prefetch));
+        current = prefetch;
+    }
+
+    /** Cancels the current prefetch, releasing any music it loaded. */
+    public void cancel() {
+        if (current == null) {
+            return;
+        }
+
+        current.cancel();
+        if (current.music != null) {
+            Audio music = current.music;
+            FastJEngine.getGameLoop().removeEventObserver(music.getAudioEventListener(), AudioEvent.class);
+            FastJEngine.getAudioManager().unloadStreamedAudio(music.getID());
+        }
+
+        current = null;
+    }
+
+    /**
+     * Takes whatever has been prefetched for the provided song. Anything prefetched for another song is released.
+     *
+     * @param chartPath The path of the song's chart.
+     * @param seekable  Whether the song will be played seekable.
+     * @return The prefetched song, whose chart and music are each {@code null} if they weren't ready yet.
+     */
+    public PreparedSong take(Path chartPath, boolean seekable) {
+        if (current == null || !current.chartPath.equals(chartPath) || current.seekable != seekable) {
+            cancel();
+            return new PreparedSong(null, null);
+        }
+
+        Prefetch prefetch = current;
+        current = null;
+        prefetch.cancel();
+
+        Log.debug(SongPrefetcher.class, "took prefetched {} (chart ready: {}, music ready: {})", chartPath, prefetch.chart != null, prefetch.music != null);
+        return new PreparedSong(prefetch.chart, prefetch.music);
+    }
+
+    private void prepare(Prefetch prefetch) {
+        try {
+            Thread.sleep(FocusDelayMillis);
+
+            prefetch.chart = ChartRepository.getInstance().load(prefetch.chartPath);
+            if (prefetch.isCancelled) {
+                return;
+            }
+
+            Path musicPath = Path.of(prefetch.chart.getMusicPath());
+            Warmup.music(musicPath, Warmup.MusicPreBufferSeconds, progress -> {});
+            if (prefetch.isCancelled || prefetch.seekable) {
+                return;
+            }
+
+            FastJEngine.runLater(() -> {
+                if (!prefetch.isCancelled) {
+                    prefetch.music = FastJEngine.getAudioManager().loadStreamedAudio(musicPath);
+                }
+            }, CoreLoopState.Update);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException exception) {
+            // the song is loaded as usual once it's picked, which reports the problem properly
+            Log.debug(SongPrefetcher.class, "couldn't prefetch {}: {}", prefetch.chartPath, exception.getMessage());
+        }
+    }
+
+    /**
+     * A song prefetched for play.
+     *
+     * @param chart The song's chart, or {@code null} if it wasn't parsed in time.
+     * @param music The song's opened music, or {@code null} if it wasn't opened in time. Whoever takes the song owns the
+     *              music, and must unload it if it goes unused.
+     */
+    public record PreparedSong(SongInfo chart, Audio music) {
+    }
+
+    private static final class Prefetch {
+        private final Path chartPath;
+        private final boolean seekable;
+        private Future<?> future;
+        private volatile boolean isCancelled;
+        private volatile SongInfo chart;
+        /** Only touched on the game loop thread. */
+        private Audio music;
+
+        private Prefetch(Path chartPath, boolean seekable) {
+            this.chartPath = chartPath;
+            this.seekable = seekable;
+        }
+
+        private void cancel() {
+            isCancelled = true;
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * Fixed-capacity queue of notes that are due to spawn, stored as primitive arrays so filling and draining it does
+ * not allocate.
+ */
+final class SpawnQueue {
+
+    private final double[] notes;
+    private final int[] noteLanes;
+    private final double[] spawnBeats;
+    private int size;
+
+    SpawnQueue(int capacity) {
+        this.notes = new double[capacity];
+        this.noteLanes = new int[capacity];
+        this.spawnBeats = new double[capacity];
+    }
+
+    boolean isFull() {
+        return size == notes.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(double note, int noteLane, double spawnBeat) {
+        notes[size] = note;
+        noteLanes[size] = noteLane;
+        spawnBeats[size] = spawnBeat;
+        size++;
+    }
+
+    double getNote(int index) {
+        return notes[index];
+    }
+
+    int getNoteLane(int index) {
+        return noteLanes[index];
+    }
+
+    double getSpawnBeat(int index) {
+        return spawnBeats[index];
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
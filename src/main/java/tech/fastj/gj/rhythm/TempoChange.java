@@ -0,0 +1,68 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Objects;
+
+/**
+ * A point in a chart where the tempo, and optionally the time signature, changes.
+ * <p>
+ * Tempo changes are listed in a chart's {@code tempoChanges} array, ordered by beat. The chart's {@code bpm} is the
+ * tempo from beat 0 until the first change.
+ */
+public class TempoChange {
+
+    private double beat;
+    private double bpm;
+    private int beatsPerMeasure;
+
+    public TempoChange() {
+    }
+
+    public TempoChange(double beat, double bpm, int beatsPerMeasure) {
+        this.beat = beat;
+        this.bpm = bpm;
+        this.beatsPerMeasure = beatsPerMeasure;
+    }
+
+    /** Gets the beat the change takes effect on, counted in the chart's beats from beat 0. */
+    public double getBeat() {
+        return beat;
+    }
+
+    /** Gets the tempo from this change onwards. */
+    public double getBpm() {
+        return bpm;
+    }
+
+    /** Gets the time signature's beats per measure from this change onwards, or {@code 0} to keep the previous one. */
+    public int getBeatsPerMeasure() {
+        return beatsPerMeasure;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TempoChange that = (TempoChange) o;
+        return Double.compare(that.beat, beat) == 0
+            && Double.compare(that.bpm, bpm) == 0
+            && beatsPerMeasure == that.beatsPerMeasure;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(beat, bpm, beatsPerMeasure);
+    }
+
+    @Override
+    public String toString() {
+        return "TempoChange{" +
+            "beat=" + beat +
+            ", bpm=" + bpm +
+            ", beatsPerMeasure=" + beatsPerMeasure +
+            '}';
+    }
+}
@@ -0,0 +1,153 @@
+package tech.fastj.gj.rhythm;
+
+import java.util.Arrays;
+
+/**
+ * Converts between beats and seconds for a chart whose tempo may change.
+ * <p>
+ * The chart is split into segments of constant tempo, and the time each segment starts at is accumulated once when
+ * the map is built. A conversion finds its segment with a binary search over the segment starts and interpolates
+ * linearly within it; a chart without tempo changes skips the search entirely.
+ * <p>
+ * Both beats and seconds are measured from beat 0. Positions before beat 0 use the chart's starting tempo.
+ */
+public final class TempoMap {
+
+    /** The time signature used until a tempo change sets one. */
+    public static final int DefaultBeatsPerMeasure = 4;
+
+    private final double[] segmentBeats;
+    private final double[] segmentSeconds;
+    private final double[] segmentSecPerBeat;
+    private final int[] segmentBeatsPerMeasure;
+
+    private TempoMap(double[] segmentBeats, double[] segmentSeconds, double[] segmentSecPerBeat, int[] segmentBeatsPerMeasure) {
+        this.segmentBeats = segmentBeats;
+        this.segmentSeconds = segmentSeconds;
+        this.segmentSecPerBeat = segmentSecPerBeat;
+        this.segmentBeatsPerMeasure = segmentBeatsPerMeasure;
+    }
+
+    /**
+     * Creates a tempo map with a single tempo.
+     *
+     * @param bpm The tempo.
+     * @return The tempo map.
+     */
+    public static TempoMap constant(double bpm) {
+        return build(bpm, null);
+    }
+
+    /**
+     * Builds a tempo map from a chart's starting tempo and its tempo changes.
+     *
+     * @param bpm          The tempo from beat 0 until the first change.
+     * @param tempoChanges The chart's tempo changes ordered by beat, or {@code null} if it has none.
+     * @return The tempo map.
+     */
+    public static TempoMap build(double bpm, TempoChange[] tempoChanges) {
+        int changeCount = tempoChanges == null ? 0 : tempoChanges.length;
+        double[] segmentBeats = new double[changeCount + 1];
+        double[] segmentSeconds = new double[changeCount + 1];
+        double[] segmentSecPerBeat = new double[changeCount + 1];
+        int[] segmentBeatsPerMeasure = new int[changeCount + 1];
+
+        checkBpm(bpm);
+        segmentSecPerBeat[0] = 60d / bpm;
+        segmentBeatsPerMeasure[0] = DefaultBeatsPerMeasure;
+
+        for (int i = 1; i <= changeCount; i++) {
+            TempoChange tempoChange = tempoChanges[i - 1];
+            if (!(tempoChange.getBeat() > segmentBeats[i - 1])) {
+                throw new IllegalStateException("Tempo changes must start after beat 0 and be ordered by beat: " + Arrays.toString(tempoChanges));
+            }
+            checkBpm(tempoChange.getBpm());
+
+            segmentBeats[i] = tempoChange.getBeat();
+            segmentSeconds[i] = segmentSeconds[i - 1] + (segmentBeats[i] - segmentBeats[i - 1]) * segmentSecPerBeat[i - 1];
+            segmentSecPerBeat[i] = 60d / tempoChange.getBpm();
+            segmentBeatsPerMeasure[i] = tempoChange.getBeatsPerMeasure() > 0 ? tempoChange.getBeatsPerMeasure() : segmentBeatsPerMeasure[i - 1];
+        }
+
+        return new TempoMap(segmentBeats, segmentSeconds, segmentSecPerBeat, segmentBeatsPerMeasure);
+    }
+
+    private static void checkBpm(double bpm) {
+        if (!(bpm > 0d)) {
+            throw new IllegalStateException("Tempo must be positive, got " + bpm + " bpm");
+        }
+    }
+
+    /** Whether the chart keeps the same tempo throughout. */
+    public boolean isConstant() {
+        return segmentBeats.length == 1;
+    }
+
+    /**
+     * Converts a beat into the time it is played at.
+     *
+     * @param beat The beat.
+     * @return The beat's time, in seconds from beat 0.
+     */
+    public double secondsAt(double beat) {
+        int segment = segmentAt(segmentBeats, beat);
+        return segmentSeconds[segment] + (beat - segmentBeats[segment]) * segmentSecPerBeat[segment];
+    }
+
+    /**
+     * Converts a time into the beat played at that time.
+     *
+     * @param seconds The time, in seconds from beat 0.
+     * @return The beat played at {@code seconds}.
+     */
+    public double beatAt(double seconds) {
+        int segment = segmentAt(segmentSeconds, seconds);
+        return segmentBeats[segment] + (seconds - segmentSeconds[segment]) / segmentSecPerBeat[segment];
+    }
+
+    /**
+     * Gets the seconds per beat of the tempo in effect on the provided beat.
+     *
+     * @param beat The beat.
+     * @return The seconds per beat at {@code beat}.
+     */
+    public double secPerBeatAt(double beat) {
+        return segmentSecPerBeat[segmentAt(segmentBeats, beat)];
+    }
+
+    /**
+     * Gets the beats per measure of the time signature in effect on the provided beat.
+     *
+     * @param beat The beat.
+     * @return The beats per measure at {@code beat}.
+     */
+    public int beatsPerMeasureAt(double beat) {
+        return segmentBeatsPerMeasure[segmentAt(segmentBeats, beat)];
+    }
+
+    /** Finds the last segment starting on or before {@code position}, or the first segment if there is none. */
+    private int segmentAt(double[] segmentStarts, double position) {
+        int low = 1;
+        int high = segmentStarts.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (segmentStarts[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "TempoMap{" +
+            "segmentBeats=" + Arrays.toString(segmentBeats) +
+            ", segmentSecPerBeat=" + Arrays.toString(segmentSecPerBeat) +
+            ", segmentBeatsPerMeasure=" + Arrays.toString(segmentBeatsPerMeasure) +
+            '}';
+    }
+}
@@ -0,0 +1,12 @@
+package tech.fastj.gj.rhythm;
+
+/** Selects which clock a {@link Conductor} derives its song position from. */
+public enum TimingMode {
+    /** Song position is measured from {@link System#nanoTime()}, relative to the scheduled audio start. */
+    SystemClock,
+    /**
+     * Song position is measured from the playback frame position of the conductor's audio line, smoothed against
+     * {@link System#nanoTime()} between updates.
+     */
+    AudioClock
+}
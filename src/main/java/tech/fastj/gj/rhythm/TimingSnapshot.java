@@ -0,0 +1,41 @@
+package tech.fastj.gj.rhythm;
+
+/**
+ * The {@link Conductor}'s song position as measured during one update.
+ * <p>
+ * The conductor publishes a new snapshot after every update, so a reader on any thread sees a set of values that were
+ * all measured together. Positions between updates can be extrapolated from the snapshot with
+ * {@link #songPositionAt(long)}.
+ *
+ * @param updateNanos         The {@link System#nanoTime()} value the snapshot was measured at.
+ * @param songPosition        The song position, in seconds.
+ * @param songPositionInBeats The song position, in beats.
+ * @param tempoMap            The song's tempo map.
+ * @param isPaused            Whether the song was paused, in which case its position does not advance.
+ */
+public record TimingSnapshot(long updateNanos, double songPosition, double songPositionInBeats, TempoMap tempoMap, boolean isPaused) {
+
+    /**
+     * Gets the song position at the provided time, extrapolated from this snapshot.
+     *
+     * @param nanoTime A {@link System#nanoTime()} value, such as a key press timestamp.
+     * @return The song position at {@code nanoTime}, in seconds.
+     */
+    public double songPositionAt(long nanoTime) {
+        if (isPaused) {
+            return songPosition;
+        }
+
+        return songPosition + ((nanoTime - updateNanos) / 1_000_000_000d);
+    }
+
+    /**
+     * Gets the song position at the provided time in beats, extrapolated from this snapshot.
+     *
+     * @param nanoTime A {@link System#nanoTime()} value, such as a key press timestamp.
+     * @return The song position at {@code nanoTime}, in beats.
+     */
+    public double songPositionInBeatsAt(long nanoTime) {
+        return tempoMap.beatAt(songPositionAt(nanoTime));
+    }
+}
@@ -4,6 +4,9 @@ import tech.fastj.engine.FastJEngine;
 import tech.fastj.gameloop.CoreLoopState;
 import tech.fastj.gameloop.event.EventObserver;
 import tech.fastj.gj.gameobjects.KeyCircle;
+import tech.fastj.gj.gameobjects.LaneRenderer;
+import tech.fastj.gj.loading.LoadingJob;
+import tech.fastj.gj.loading.Warmup;
 import tech.fastj.gj.rhythm.Conductor;
 import tech.fastj.gj.rhythm.ConductorFinishedEvent;
 import tech.fastj.gj.rhythm.EditableSongInfo;
@@ -31,6 +34,8 @@ import tech.fastj.systems.control.SceneManager;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.FileDialog;
 import java.awt.Font;
@@ -42,6 +47,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -49,7 +55,9 @@ import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import javax.swing.JButton;
+import javax.swing.JComponent;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
@@ -57,6 +65,7 @@ import javax.swing.JTextField;
 import javax.swing.SpringLayout;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
 
 import com.google.gson.Gson;
 
@@ -66,6 +75,7 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
     private EditableSongInfo songInfo;
     private Conductor conductor;
     private EditorInputMatcher inputMatcher;
+    private LaneRenderer laneRenderer;
 
     private ContentBox songNameBox;
     private ContentBox beatBox;
@@ -83,6 +93,7 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
         Log.debug(SongEditor.class, "loading {}", getSceneName());
 
         createUI();
+        laneRenderer = RhythmUtil.createLaneRenderer(this, canvas);
         changeState(EditorState.Setup);
 
         Log.debug(SongEditor.class, "loaded {}", getSceneName());
@@ -120,7 +131,7 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
     }
 
     private void resetConductor(FastJCanvas canvas) {
-        conductor = RhythmUtil.createConductor(this, songInfo, canvas);
+        conductor = RhythmUtil.createConductor(this, songInfo, null, laneRenderer, canvas, false);
         inputMatcher = new EditorInputMatcher(conductor, songInfo);
     }
 
@@ -138,7 +149,7 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
     @Override
     public void update(FastJCanvas canvas) {
         if (editorState == EditorState.Recording || editorState == EditorState.Review) {
-            double inputBeatPosition = conductor.songPositionInBeats;
+            double inputBeatPosition = conductor.getTimingSnapshot().songPositionInBeats();
             beatBox.setContent("" + RhythmUtil.adjustBeatPosition(inputBeatPosition));
         }
     }
@@ -175,7 +186,16 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                         return;
                     }
 
-                    FastJEngine.runLater(() -> changeState(EditorState.Recording), CoreLoopState.Update);
+                    // read the start of the music off the game loop, so opening it for recording doesn't stall a frame
+                    Path musicPath = Path.of(songInfo.musicPath);
+                    new LoadingJob("Loading music")
+                        .addStep("Buffering music", 1d, progress -> Warmup.music(musicPath, Warmup.MusicPreBufferSeconds, progress))
+                        .setOnComplete(() -> changeState(EditorState.Recording))
+                        .setOnFailure(exception -> {
+                            Log.warn(SongEditor.class, "Couldn't buffer music {}: {}", musicPath, exception.getMessage());
+                            changeState(EditorState.Recording);
+                        })
+                        .start();
                 });
             }
             case Recording -> {
@@ -187,9 +207,8 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                 songNameBox.setShouldRender(true);
                 beatBox.setShouldRender(true);
 
-                RhythmUtil.createLaneKeys(this, conductor, keyCircles);
+                RhythmUtil.createLaneKeys(this, conductor, keyCircles, laneRenderer);
                 inputManager().addKeyboardActionListener(inputMatcher);
-                songInfo.resetNextIndex();
 
                 FastJEngine.getGameLoop().addEventObserver(this, ConductorFinishedEvent.class);
             }
@@ -201,9 +220,8 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                 songNameBox.setShouldRender(true);
                 beatBox.setShouldRender(true);
 
-                RhythmUtil.createLaneKeys(this, conductor, keyCircles);
+                RhythmUtil.createLaneKeys(this, conductor, keyCircles, laneRenderer);
                 inputManager().addKeyboardActionListener(inputMatcher);
-                songInfo.resetNextIndex();
 
                 FastJEngine.getGameLoop().addEventObserver(this, ConductorFinishedEvent.class);
             }
@@ -295,7 +313,6 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                     }
                     songInfo.notes = notes;
                     songInfo.noteLanes = noteLanes;
-                    songInfo.resetNextIndex();
 
                     Gson gson = new Gson();
                     String songInfoJson = gson.toJson(songInfo);
@@ -377,6 +394,7 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
         SpringLayout springLayout = new SpringLayout();
         songConfigPanel.setLayout(springLayout);
         AtomicBoolean hasJsonFile = new AtomicBoolean(false);
+        AtomicBoolean isLoadingJson = new AtomicBoolean(false);
         AtomicReference<EditableSongInfo> editableSongInfoRef = new AtomicReference<>();
 
         LabeledField songNameCombo = setupInputCombo(songConfigPanel, "Song Name:");
@@ -437,18 +455,34 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                         );
 
                         if (fillJsonData) {
-                            try {
-                                Gson gson = new Gson();
-                                String songInfoJson = Files.readString(Path.of(path));
-
-                                EditableSongInfo editableSongInfo = gson.fromJson(songInfoJson, EditableSongInfo.class);
-                                editableSongInfoRef.set(editableSongInfo);
-                                hasJsonFile.set(true);
-
-                                fillUIWithJson(songNameCombo, bpmCombo, beatPeekCombo, beatOffsetCombo, laneKeysCombo, musicPathInput, editableSongInfo);
-                            } catch (IOException exception) {
-                                displayException("Error while trying to load JSON file at \"" + path + "\"", exception);
-                            }
+                            // the chart is read in the background, and the dialog stays usable while it loads -- but
+                            // can't be confirmed, as the loaded chart would be lost
+                            isLoadingJson.set(true);
+                            findMusicPathButton.setEnabled(false);
+                            setConfirmEnabled(songConfigPanel, false);
+                            AtomicReference<EditableSongInfo> loadedSongInfo = new AtomicReference<>();
+                            new LoadingJob("Loading song data")
+                                .addStep("Reading chart", 1d, progress -> {
+                                    String songInfoJson = Files.readString(Path.of(path));
+                                    loadedSongInfo.set(new Gson().fromJson(songInfoJson, EditableSongInfo.class));
+                                })
+                                .setOnComplete(() -> SwingUtilities.invokeLater(() -> {
+                                    EditableSongInfo editableSongInfo = loadedSongInfo.get();
+                                    editableSongInfoRef.set(editableSongInfo);
+                                    hasJsonFile.set(true);
+
+                                    fillUIWithJson(songNameCombo, bpmCombo, beatPeekCombo, beatOffsetCombo, laneKeysCombo, musicPathInput, editableSongInfo);
+                                    isLoadingJson.set(false);
+                                    findMusicPathButton.setEnabled(true);
+                                    setConfirmEnabled(songConfigPanel, true);
+                                }))
+                                .setOnFailure(exception -> SwingUtilities.invokeLater(() -> {
+                                    isLoadingJson.set(false);
+                                    findMusicPathButton.setEnabled(true);
+                                    setConfirmEnabled(songConfigPanel, true);
+                                    displayException("Error while trying to load JSON file at \"" + path + "\"", exception);
+                                }))
+                                .start();
                         }
                     } else {
                         musicPathInput.setText(path);
@@ -505,6 +539,18 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
                 }
             }
 
+            // the dialog is shown anew each time around, so its OK button may have been usable during the load
+            if (isLoadingJson.get()) {
+                DialogUtil.showMessageDialog(
+                    DialogConfig.create()
+                        .withParentComponent(FastJEngine.<SimpleDisplay>getDisplay().getWindow())
+                        .withTitle("Song data is still loading")
+                        .withPrompt("Please wait for the JSON file to finish loading.")
+                        .build()
+                );
+                continue;
+            }
+
             if (hasJsonFile.get()) {
                 String[] options = {"Record New Notes", "Skip to Editing"};
                 int skipRecord = DialogUtil.showOptionDialog(
@@ -694,6 +740,27 @@ public class SongEditor extends Scene implements EventObserver<ConductorFinished
         );
     }
 
+    /**
+     * Enables or disables the OK button of the dialog showing the provided prompt. Does nothing if the prompt isn't
+     * showing in a dialog. Must be called on the event dispatch thread.
+     */
+    private static void setConfirmEnabled(JComponent prompt, boolean enabled) {
+        JOptionPane optionPane = (JOptionPane) SwingUtilities.getAncestorOfClass(JOptionPane.class, prompt);
+        if (optionPane != null) {
+            setButtonsEnabled(optionPane, UIManager.getString("OptionPane.okButtonText", optionPane.getLocale()), enabled);
+        }
+    }
+
+    private static void setButtonsEnabled(Container container, String buttonText, boolean enabled) {
+        for (Component component : container.getComponents()) {
+            if (component instanceof JButton button && Objects.equals(button.getText(), buttonText)) {
+                button.setEnabled(enabled);
+            } else if (component instanceof Container childContainer) {
+                setButtonsEnabled(childContainer, buttonText, enabled);
+            }
+        }
+    }
+
     private static String formatStackTrace(Throwable exception) {
         return Arrays.stream(exception.getStackTrace())
             .map(stackTraceElement -> "at " + stackTraceElement.toString() + "\n")
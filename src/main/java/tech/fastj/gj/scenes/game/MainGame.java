@@ -3,12 +3,18 @@ package tech.fastj.gj.scenes.game;
 import tech.fastj.engine.FastJEngine;
 import tech.fastj.gameloop.event.EventObserver;
 import tech.fastj.gj.gameobjects.KeyCircle;
+import tech.fastj.gj.gameobjects.LaneRenderer;
 import tech.fastj.gj.rhythm.Conductor;
 import tech.fastj.gj.rhythm.ConductorFinishedEvent;
+import tech.fastj.gj.rhythm.ConductorMetrics;
 import tech.fastj.gj.rhythm.GameInputMatcher;
+import tech.fastj.gj.rhythm.JudgmentFeedback;
+import tech.fastj.gj.rhythm.JudgmentQueue;
 import tech.fastj.gj.rhythm.SongInfo;
+import tech.fastj.gj.rhythm.SongPrefetcher;
+import tech.fastj.gj.scenes.loading.SongLoader;
 import tech.fastj.gj.ui.ContentBox;
-import tech.fastj.gj.ui.Notice;
+import tech.fastj.gj.ui.NoticePool;
 import tech.fastj.gj.ui.PauseButton;
 import tech.fastj.gj.user.User;
 import tech.fastj.gj.util.Colors;
@@ -21,6 +27,7 @@ import tech.fastj.input.keyboard.Keys;
 import tech.fastj.input.keyboard.events.KeyboardStateEvent;
 import tech.fastj.logging.Log;
 import tech.fastj.math.Pointf;
+import tech.fastj.systems.audio.Audio;
 import tech.fastj.systems.audio.state.PlaybackState;
 import tech.fastj.systems.control.Scene;
 
@@ -32,16 +39,26 @@ import javax.swing.SwingUtilities;
 
 public class MainGame extends Scene implements EventObserver<ConductorFinishedEvent> {
 
+    private static final int NoticePoolCapacity = 8;
+    private static final long MetricsRefreshNanos = 250_000_000L;
+
     private GameState gameState;
     private final User user;
     private Conductor conductor;
     private SongInfo songInfo;
+    private boolean practiceMode;
+    private Audio preparedMusic;
 
     private ContentBox songNameBox;
+    private NoticePool judgmentNotices;
+    /** Kept for the scene's lifetime, so replays reuse the same renderer. */
+    private LaneRenderer laneRenderer;
 
     private PauseButton pauseButton;
     private PauseMenu pauseMenu;
     private KeyboardActionListener pauseListener;
+    private KeyboardActionListener metricsListener;
+    private KeyboardActionListener practiceListener;
     private boolean allowClicks;
 
     GameInputMatcher inputMatcher;
@@ -49,6 +66,13 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
     private ResultMenu resultMenu;
     private final List<KeyCircle> keyCircles;
 
+    private ContentBox practiceBox;
+    private double practiceLoopStart;
+
+    private ContentBox[] metricsBoxes;
+    private boolean showMetrics;
+    private long lastMetricsRefresh;
+
     public MainGame() {
         super(SceneNames.Game);
         user = User.getInstance();
@@ -71,19 +95,49 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
         this.songInfo = songInfo;
     }
 
+    /**
+     * Sets music already loaded for the next song, such as by a {@link SongPrefetcher}, so it isn't loaded again when
+     * the song starts. The game takes ownership of the music.
+     *
+     * @param preparedMusic The song's loaded music, or {@code null} to load it as usual.
+     */
+    public void setPreparedMusic(Audio preparedMusic) {
+        if (isInitialized()) {
+            throw new IllegalStateException("bad");
+        }
+
+        this.preparedMusic = preparedMusic;
+    }
+
+    /**
+     * Sets whether the next song is played in practice mode, where it can be seeked and looped with the function keys.
+     * Practice runs are not scored towards the high score.
+     *
+     * @param practiceMode Whether to play in practice mode.
+     */
+    public void setPracticeMode(boolean practiceMode) {
+        if (isInitialized()) {
+            throw new IllegalStateException("bad");
+        }
+
+        this.practiceMode = practiceMode;
+    }
+
     @Override
     public void load(FastJCanvas canvas) {
         Log.debug(MainGame.class, "loading {}", getSceneName());
 
+        laneRenderer = RhythmUtil.createLaneRenderer(this, canvas);
         resetConductor(canvas);
-        createUI();
+        createUI(canvas);
         createListeners();
+        inputManager().addKeyboardActionListener(metricsListener);
         changeState(GameState.Intro);
 
         Log.debug(MainGame.class, "loaded {}", getSceneName());
     }
 
-    private void createUI() {
+    private void createUI(FastJCanvas canvas) {
         songNameBox = new ContentBox(this, "Now Playing");
         songNameBox.setTranslation(new Pointf(80f, 30f));
         songNameBox.getStatDisplay().setFont(Fonts.MonoStatTextFont);
@@ -105,6 +159,25 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
 
         pauseMenu = new PauseMenu(this);
         pauseMenu.setShouldRender(false);
+
+        practiceBox = new ContentBox(this, "Practice");
+        practiceBox.setTranslation(new Pointf(30f, canvas.getResolution().y - 30f));
+        practiceBox.getStatDisplay().setFont(Fonts.MonoStatTextFont);
+        practiceBox.getStatDisplay().setFill(Colors.Snowy);
+        practiceBox.setShouldRender(false);
+
+        judgmentNotices = new NoticePool(this, new Pointf(20f, 40f), Fonts.StatTextFont, NoticePoolCapacity);
+
+        String[] metricNames = {"Update", "Drift", "Spawn", "Input"};
+        metricsBoxes = new ContentBox[metricNames.length];
+        for (int i = 0; i < metricNames.length; i++) {
+            ContentBox metricsBox = new ContentBox(this, metricNames[i]);
+            metricsBox.setTranslation(new Pointf(30f, canvas.getResolution().y - 130f + (i * 25f)));
+            metricsBox.getStatDisplay().setFont(Fonts.MonoStatTextFont);
+            metricsBox.getStatDisplay().setFill(Colors.Snowy);
+            metricsBox.setShouldRender(false);
+            metricsBoxes[i] = metricsBox;
+        }
     }
 
     private void createListeners() {
@@ -123,29 +196,115 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
             }
         };
 
-        inputMatcher.setOnLaneKeyPressed(event -> {
-            for (KeyCircle keyCircle : keyCircles) {
-                if (keyCircle.getKey() == event.getKey()) {
-                    System.out.println("found key " + event.getKey());
-                    keyCircle.setFill(Color.white, false);
+        metricsListener = new KeyboardActionListener() {
+            @Override
+            public void onKeyReleased(KeyboardStateEvent event) {
+                if (event.isConsumed() || event.getKey() != Keys.F3) {
                     return;
                 }
+
+                event.consume();
+                FastJEngine.runLater(() -> setShowMetrics(!showMetrics));
             }
-        });
+        };
+
+        practiceListener = new KeyboardActionListener() {
+            @Override
+            public void onKeyReleased(KeyboardStateEvent event) {
+                if (event.isConsumed() || gameState != GameState.Playing) {
+                    return;
+                }
+
+                Keys key = event.getKey();
+                if (key == Keys.F5 || key == Keys.F6 || key == Keys.F7 || key == Keys.F8 || key == Keys.F9 || key == Keys.F10) {
+                    event.consume();
+                    FastJEngine.runLater(() -> practice(key));
+                }
+            }
+        };
+    }
+
+    private void practice(Keys key) {
+        if (gameState != GameState.Playing) {
+            return;
+        }
+
+        double currentBeat = conductor.getTimingSnapshot().songPositionInBeats();
+        switch (key) {
+            case F5 -> {
+                practiceLoopStart = Math.max(Math.floor(currentBeat), 0d);
+                conductor.clearLoop();
+            }
+            case F6 -> {
+                double loopEnd = Math.ceil(currentBeat);
+                if (!Double.isNaN(practiceLoopStart) && loopEnd > practiceLoopStart) {
+                    conductor.setLoop(practiceLoopStart, loopEnd);
+                    conductor.seek(practiceLoopStart);
+                }
+            }
+            case F7 -> {
+                practiceLoopStart = Double.NaN;
+                conductor.clearLoop();
+            }
+            case F8 -> conductor.seek(conductor.hasLoop() ? conductor.getLoopStartBeat() : 0d);
+            case F9 -> conductor.seek(currentBeat - conductor.getTempoMap().beatsPerMeasureAt(currentBeat));
+            case F10 -> conductor.seek(currentBeat + conductor.getTempoMap().beatsPerMeasureAt(currentBeat));
+        }
+
+        refreshPracticeBox();
+    }
+
+    private void refreshPracticeBox() {
+        String loop;
+        if (conductor.hasLoop()) {
+            loop = String.format("loop %.0f-%.0f", conductor.getLoopStartBeat(), conductor.getLoopEndBeat());
+        } else if (!Double.isNaN(practiceLoopStart)) {
+            loop = String.format("loop %.0f-?", practiceLoopStart);
+        } else {
+            loop = "no loop";
+        }
+
+        practiceBox.setContent(loop + " | F5/F6 set loop, F7 clear, F8 restart, F9/F10 measure");
     }
 
     private void resetConductor(FastJCanvas canvas) {
-        conductor = RhythmUtil.createConductor(this, songInfo, canvas);
-        inputMatcher = new GameInputMatcher(
-            conductor,
-            songInfo,
-            message -> {
-                Notice notice = new Notice(message, new Pointf(20f, 40f), this);
-                notice.setFill("Perfect!".equalsIgnoreCase(message) ? Color.green : Color.red.brighter());
-                notice.setFont(Fonts.StatTextFont);
-                drawableManager().addGameObject(notice);
+        // prepared music can only be used once -- replays open it again through the loading scene
+        conductor = RhythmUtil.createConductor(this, songInfo, preparedMusic, laneRenderer, canvas, practiceMode);
+        preparedMusic = null;
+        inputMatcher = new GameInputMatcher(conductor, songInfo, user.getSettings().getJudgmentProfile());
+        inputMatcher.setOnLaneKeyPressed(this::flashKeyCircle);
+        practiceLoopStart = Double.NaN;
+        // the song can finish within the last note's judgment window, before the miss sweep reaches it
+        conductor.setOnFinish(inputMatcher::missRemainingNotes);
+
+        if (practiceMode) {
+            // practice runs finish unscored, so they never count towards the high score
+            conductor.setOnSeek(inputMatcher::seek);
+        } else {
+            conductor.setScoreKeeper(inputMatcher.scoreKeeper());
+        }
+    }
+
+    private void flashKeyCircle(Keys key) {
+        for (int i = 0; i < keyCircles.size(); i++) {
+            KeyCircle keyCircle = keyCircles.get(i);
+            if (keyCircle.getKey() == key) {
+                keyCircle.setFill(Color.white, false);
+                return;
             }
-        );
+        }
+    }
+
+    private void showJudgments() {
+        JudgmentQueue judgmentQueue = inputMatcher.judgmentQueue();
+        JudgmentFeedback feedback;
+        while ((feedback = judgmentQueue.poll()) != null) {
+            judgmentNotices.show(feedback.getMessage(), switch (feedback) {
+                case Perfect -> Color.green;
+                case Great -> Color.cyan;
+                default -> Colors.MistakeRed;
+            });
+        }
     }
 
     @Override
@@ -158,43 +317,88 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
 
         user.resetScore();
         keyCircles.clear();
+        resultMenu = null;
 
         if (pauseListener != null) {
             inputManager().removeKeyboardActionListener(pauseListener);
             pauseListener = null;
         }
 
+        if (metricsListener != null) {
+            inputManager().removeKeyboardActionListener(metricsListener);
+            metricsListener = null;
+        }
+        showMetrics = false;
+
+        if (practiceListener != null) {
+            inputManager().removeKeyboardActionListener(practiceListener);
+            practiceListener = null;
+        }
+
         Log.info(MainGame.class, "unloaded {}", getSceneName());
     }
 
-    public void changeState(GameState next) {
-        Log.debug(MainGame.class, "changing state from {} to {}", gameState, next);
+    @Override
+    public void update(FastJCanvas canvas) {
+        inputMatcher.processInputs();
+        if (gameState == GameState.Playing) {
+            inputMatcher.sweepMisses(conductor.getTimingSnapshot().songPosition());
+        }
 
-        switch (next) {
-            case Intro -> {
-                if (gameState == GameState.Results) {
-                    songNameBox.setShouldRender(false);
+        showJudgments();
 
-                    resultMenu.destroy(this);
-                    resultMenu = null;
-                    resetConductor(FastJEngine.getCanvas());
+        if (showMetrics && System.nanoTime() - lastMetricsRefresh >= MetricsRefreshNanos) {
+            refreshMetrics();
+        }
+    }
 
-                    user.resetScore();
-                    FastJEngine.getGameLoop().removeEventObserver(this, ConductorFinishedEvent.class);
-                }
+    /**
+     * Shows or hides the on-screen timing readout, which can be toggled with {@code F3}.
+     *
+     * @param showMetrics Whether to show the readout.
+     */
+    public void setShowMetrics(boolean showMetrics) {
+        this.showMetrics = showMetrics;
+        for (ContentBox metricsBox : metricsBoxes) {
+            metricsBox.setShouldRender(showMetrics);
+        }
 
-                FastJEngine.runLater(() -> changeState(GameState.Playing));
-            }
+        if (showMetrics) {
+            refreshMetrics();
+        }
+    }
+
+    private void refreshMetrics() {
+        lastMetricsRefresh = System.nanoTime();
+
+        ConductorMetrics metrics = conductor.getMetrics();
+        metricsBoxes[0].setContent(metrics.getUpdateDeltas() + ", " + metrics.getStallCount() + " stalls");
+        metricsBoxes[1].setContent(String.format("%+.1f ms, ", metrics.getClockDrift().getLastMs()) + metrics.getClockDrift());
+        metricsBoxes[2].setContent(metrics.getSpawnLateness().toString());
+        metricsBoxes[3].setContent(metrics.getInputLatency().toString());
+    }
+
+    public void changeState(GameState next) {
+        Log.debug(MainGame.class, "changing state from {} to {}", gameState, next);
+
+        switch (next) {
+            case Intro -> FastJEngine.runLater(() -> changeState(GameState.Playing));
             case Playing -> {
                 if (gameState == GameState.Intro) {
                     songNameBox.setContent(conductor.musicInfo.getSongName());
                     songNameBox.setShouldRender(true);
 
-                    RhythmUtil.createLaneKeys(this, conductor, keyCircles);
+                    RhythmUtil.createLaneKeys(this, conductor, keyCircles, laneRenderer);
 
                     FastJEngine.getGameLoop().addEventObserver(this, ConductorFinishedEvent.class);
                     pauseButton.setShouldRender(true);
                     inputManager().addKeyboardActionListener(pauseListener);
+
+                    if (practiceMode) {
+                        refreshPracticeBox();
+                        practiceBox.setShouldRender(true);
+                        inputManager().addKeyboardActionListener(practiceListener);
+                    }
                 }
 
                 pauseMenu.setShouldRender(false);
@@ -219,8 +423,10 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
                 conductor.setPaused(true);
                 conductor.destroy(this);
                 pauseButton.setShouldRender(false);
+                practiceBox.setShouldRender(false);
 
                 inputManager().removeKeyboardActionListener(pauseListener);
+                inputManager().removeKeyboardActionListener(practiceListener);
                 inputManager().removeMouseActionListener(pauseButton);
                 inputManager().removeKeyboardActionListener(inputMatcher);
 
@@ -232,6 +438,14 @@ public class MainGame extends Scene implements EventObserver<ConductorFinishedEv
         gameState = next;
     }
 
+    /**
+     * Plays the song again from the start. Its music is opened again behind the loading scene, the same way it was
+     * opened the first time, so the replay doesn't load it on the game loop.
+     */
+    void playAgain() {
+        SongLoader.play(songInfo.getSongName(), null, songInfo, null, practiceMode);
+    }
+
     @Override
     public void eventReceived(ConductorFinishedEvent event) {
         FastJEngine.log("Conductor finished. Processing results...");
@@ -5,6 +5,7 @@ import tech.fastj.gameloop.CoreLoopState;
 import tech.fastj.gj.rhythm.ConductorFinishedEvent;
 import tech.fastj.gj.ui.BetterButton;
 import tech.fastj.gj.ui.ContentBox;
+import tech.fastj.gj.user.User;
 import tech.fastj.gj.util.Colors;
 import tech.fastj.gj.util.Fonts;
 import tech.fastj.gj.util.SceneNames;
@@ -31,7 +32,10 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
     private Polygon2D backgroundScreen;
     private Text2D gameEndText;
     private ContentBox scoreBox;
-    private ContentBox blocksStackedBox;
+    private ContentBox gradeBox;
+    private ContentBox accuracyBox;
+    private ContentBox maxComboBox;
+    private ContentBox judgmentsBox;
     private BetterButton playAgainButton;
     private BetterButton mainMenuButton;
     private BetterButton quitGameButton;
@@ -62,10 +66,21 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
                 .withTransform(Pointf.subtract(center, 160f), Transform2D.DefaultRotation, Transform2D.DefaultScale)
                 .build();
 
+        User user = User.getInstance();
+        user.setScore(event.getScore());
+
         scoreBox = new ContentBox(
                 origin,
-                "Total Notes",
-                "" + event.getTotalNotesOverall()
+                "Score",
+                user.getHasHighScore() ? event.getScore() + " (New Record!)" : "" + event.getScore()
+        );
+        gradeBox = new ContentBox(origin, "Grade", event.getGrade() == null ? "-" : event.getGrade().name());
+        accuracyBox = new ContentBox(origin, "Accuracy", String.format("%.2f%%", event.getAccuracy() * 100d));
+        maxComboBox = new ContentBox(origin, "Max Combo", event.getMaxCombo() + " / " + event.getTotalNotesOverall());
+        judgmentsBox = new ContentBox(
+                origin,
+                "Perfect / Great / Good / Miss",
+                event.getNotesPerfect() + " / " + event.getNotesGreat() + " / " + event.getNotesGood() + " / " + event.getNotesMissed()
         );
 
         playAgainButton = new BetterButton(origin, backgroundScreen.getCenter().subtract(100f, 0f), Shapes.ButtonSize);
@@ -76,7 +91,7 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
 
         playAgainButton.setOnAction(mouseButtonEvent -> {
             mouseButtonEvent.consume();
-            FastJEngine.runLater(() -> origin.changeState(GameState.Intro), CoreLoopState.Update);
+            FastJEngine.runLater(origin::playAgain, CoreLoopState.Update);
         });
         mainMenuButton.setOnAction(mouseButtonEvent -> {
             mouseButtonEvent.consume();
@@ -87,7 +102,10 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
         origin.drawableManager().removeUIElement(mainMenuButton);
         origin.drawableManager().removeUIElement(quitGameButton);
         origin.drawableManager().removeUIElement(scoreBox);
-//        origin.drawableManager.removeUIElement(blocksStackedBox);
+        origin.drawableManager().removeUIElement(gradeBox);
+        origin.drawableManager().removeUIElement(accuracyBox);
+        origin.drawableManager().removeUIElement(maxComboBox);
+        origin.drawableManager().removeUIElement(judgmentsBox);
     }
 
     private void setup(Pointf center) {
@@ -95,19 +113,11 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
             gameEndText.setFill(Colors.Snowy);
         }
 
-        if (scoreBox != null) {
-            scoreBox.getStatDisplay().setFont(Fonts.StatTextFont);
-            scoreBox.getStatDisplay().setFill(Colors.Snowy);
-            scoreBox.translate(Pointf.subtract(center, scoreBox.width(), 90f));
-        }
-
-//        blocksStackedBox = new ContentBox(
-//                origin,
-//                "Blocks Stacked",
-//                user.getHasHighBlocksStacked() ? user.getNumberStacked() + " (New Record!)" : user.getNumberStacked() + ""
-//        );
-//        blocksStackedBox.getStatDisplay().setFont(Fonts.StatTextFont);
-//        blocksStackedBox.translate(Pointf.subtract(center, 100f, 65f));
+        setupStatBox(scoreBox, Pointf.subtract(center, 260f, 95f));
+        setupStatBox(gradeBox, Pointf.subtract(center, -40f, 95f));
+        setupStatBox(accuracyBox, Pointf.subtract(center, 260f, 70f));
+        setupStatBox(maxComboBox, Pointf.subtract(center, -40f, 70f));
+        setupStatBox(judgmentsBox, Pointf.subtract(center, 260f, 45f));
 
         if (playAgainButton != null) {
             playAgainButton.setText("Play Again");
@@ -138,6 +148,16 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
         }
     }
 
+    private void setupStatBox(ContentBox statBox, Pointf location) {
+        if (statBox == null) {
+            return;
+        }
+
+        statBox.getStatDisplay().setFont(Fonts.SmallStatTextFontBold);
+        statBox.getStatDisplay().setFill(Colors.Snowy);
+        statBox.translate(location);
+    }
+
     @Override
     public void render(Graphics2D g) {
         AffineTransform oldTransform = (AffineTransform) g.getTransform().clone();
@@ -147,7 +167,10 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
         backgroundScreen.render(g);
         gameEndText.render(g);
         scoreBox.render(g);
-//        blocksStackedBox.render(g);
+        gradeBox.render(g);
+        accuracyBox.render(g);
+        maxComboBox.render(g);
+        judgmentsBox.render(g);
         playAgainButton.render(g);
         mainMenuButton.render(g);
         quitGameButton.render(g);
@@ -178,9 +201,24 @@ public class ResultMenu extends UIElement<MouseActionEvent> {
             scoreBox = null;
         }
 
-        if (blocksStackedBox != null) {
-            blocksStackedBox.destroy(origin);
-            blocksStackedBox = null;
+        if (gradeBox != null) {
+            gradeBox.destroy(origin);
+            gradeBox = null;
+        }
+
+        if (accuracyBox != null) {
+            accuracyBox.destroy(origin);
+            accuracyBox = null;
+        }
+
+        if (maxComboBox != null) {
+            maxComboBox.destroy(origin);
+            maxComboBox = null;
+        }
+
+        if (judgmentsBox != null) {
+            judgmentsBox.destroy(origin);
+            judgmentsBox = null;
         }
 
         if (playAgainButton != null) {
@@ -0,0 +1,98 @@
+package tech.fastj.gj.scenes.loading;
+
+import tech.fastj.gj.loading.LoadingJob;
+import tech.fastj.gj.ui.BetterButton;
+import tech.fastj.gj.ui.ProgressBar;
+import tech.fastj.gj.util.Colors;
+import tech.fastj.gj.util.Fonts;
+import tech.fastj.gj.util.SceneNames;
+import tech.fastj.graphics.display.FastJCanvas;
+import tech.fastj.graphics.game.Text2D;
+import tech.fastj.logging.Log;
+import tech.fastj.math.Pointf;
+import tech.fastj.math.Transform2D;
+import tech.fastj.systems.control.Scene;
+
+/**
+ * Shows the progress of a {@link LoadingJob} while it runs.
+ * <p>
+ * The scene starts its job when it loads, and does nothing else: the job's own completion or failure action decides
+ * which scene comes next. Since the job's work happens off the game loop, this scene keeps rendering throughout.
+ */
+public class LoadingScene extends Scene {
+
+    private static final Pointf ProgressBarSize = new Pointf(500f, 24f);
+
+    private LoadingJob loadingJob;
+    private Text2D stepText;
+    private ProgressBar progressBar;
+    private String shownStepDescription;
+
+    public LoadingScene() {
+        super(SceneNames.Loading);
+    }
+
+    /**
+     * Sets the job for the scene to run. Must be set before switching to the scene.
+     *
+     * @param loadingJob The job to run.
+     */
+    public void setLoadingJob(LoadingJob loadingJob) {
+        this.loadingJob = loadingJob;
+    }
+
+    @Override
+    public void load(FastJCanvas canvas) {
+        Log.debug(LoadingScene.class, "loading {}", getSceneName());
+        Pointf center = canvas.getCanvasCenter();
+
+        Text2D titleText = Text2D.create(loadingJob.getTitle())
+            .withFill(Colors.Snowy)
+            .withFont(Fonts.SubtitleTextFont)
+            .withTransform(Pointf.subtract(center, 250f, 60f), Transform2D.DefaultRotation, Transform2D.DefaultScale)
+            .build();
+        drawableManager().addGameObject(titleText);
+
+        progressBar = new ProgressBar(this, Pointf.subtract(center, 250f, 0f), ProgressBarSize)
+            .setFill(Colors.Snowy)
+            .setOutline(BetterButton.DefaultOutlineStroke, Colors.Snowy);
+
+        stepText = Text2D.fromText("");
+        stepText.setFont(Fonts.StatTextFont);
+        stepText.setFill(Colors.Snowy);
+        stepText.setTranslation(Pointf.subtract(center, 250f, -40f));
+        drawableManager().addGameObject(stepText);
+        shownStepDescription = "";
+
+        loadingJob.start();
+        Log.debug(LoadingScene.class, "loaded {}", getSceneName());
+    }
+
+    @Override
+    public void unload(FastJCanvas canvas) {
+        Log.debug(LoadingScene.class, "unloading {}", getSceneName());
+
+        // leaving before the job finishes means its result is no longer wanted
+        if (loadingJob != null && !loadingJob.isDone()) {
+            loadingJob.cancel();
+        }
+        loadingJob = null;
+
+        Log.debug(LoadingScene.class, "unloaded {}", getSceneName());
+    }
+
+    @Override
+    public void update(FastJCanvas canvas) {
+        if (loadingJob == null) {
+            return;
+        }
+
+        progressBar.setProgress(loadingJob.getProgress());
+
+        String stepDescription = loadingJob.getStepDescription();
+        if (!stepDescription.equals(shownStepDescription)) {
+            shownStepDescription = stepDescription;
+            stepText.setText(stepDescription + "...");
+        }
+    }
+}
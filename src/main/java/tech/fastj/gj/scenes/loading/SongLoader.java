@@ -0,0 +1,121 @@
+package tech.fastj.gj.scenes.loading;
+
+import tech.fastj.engine.FastJEngine;
+import tech.fastj.gj.GameManager;
+import tech.fastj.gj.loading.LoadingJob;
+import tech.fastj.gj.loading.Warmup;
+import tech.fastj.gj.rhythm.ChartRepository;
+import tech.fastj.gj.rhythm.SongInfo;
+import tech.fastj.gj.scenes.game.MainGame;
+import tech.fastj.gj.util.SceneNames;
+import tech.fastj.graphics.dialog.DialogConfig;
+import tech.fastj.graphics.dialog.DialogUtil;
+import tech.fastj.graphics.display.SimpleDisplay;
+import tech.fastj.systems.audio.Audio;
+import tech.fastj.systems.audio.AudioEvent;
+import tech.fastj.systems.audio.MemoryAudio;
+import tech.fastj.systems.control.SceneManager;
+
+import java.nio.file.Path;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Starts songs from behind the {@link LoadingScene}, so whatever of a song isn't ready yet -- its chart, or opening its
+ * music -- is loaded off the game loop, however the song was chosen.
+ */
+public class SongLoader {
+
+    /**
+     * Switches to the loading scene, which loads whatever of the song isn't ready yet and then starts the game. Must be
+     * called on the game loop.
+     *
+     * @param songName      The song's name.
+     * @param chartPath     The path of the song's chart, only read if its chart isn't ready.
+     * @param preparedChart The song's chart, or {@code null} if it still needs to be read.
+     * @param preparedMusic The song's opened music, or {@code null} if it still needs to be opened.
+     * @param practiceMode  Whether to play the song in practice mode.
+     */
+    public static void play(String songName, Path chartPath, SongInfo preparedChart, Audio preparedMusic, boolean practiceMode) {
+        LoadingSong loadingSong = new LoadingSong(preparedChart, preparedMusic);
+        LoadingJob loadingJob = new LoadingJob("Loading " + songName);
+
+        if (loadingSong.chart == null) {
+            loadingJob.addStep("Reading chart", 1d, progress -> loadingSong.chart = ChartRepository.getInstance().load(chartPath));
+        }
+
+        loadingJob.addStep("Preparing fonts", 0.5d, Warmup::fonts);
+
+        if (loadingSong.music == null && practiceMode) {
+            // seekable music is loaded whole into memory -- it's decoded here, so the game loop only copies its samples
+            loadingJob.addStep("Decoding music", 4d, progress -> loadingSong.decodedMusicPath = Warmup.decodeMusic(
+                Path.of(loadingSong.chart.getMusicPath()),
+                progress
+            ));
+            loadingJob.addGameLoopStep("Opening music", 0.5d, progress -> {
+                loadingSong.music = FastJEngine.getAudioManager().loadMemoryAudio(loadingSong.decodedMusicPath);
+            });
+        } else if (loadingSong.music == null) {
+            loadingJob.addStep("Buffering music", 1d, progress -> Warmup.music(
+                Path.of(loadingSong.chart.getMusicPath()),
+                Warmup.MusicPreBufferSeconds,
+                progress
+            ));
+            loadingJob.addGameLoopStep("Opening music", 0.5d, progress -> {
+                loadingSong.music = FastJEngine.getAudioManager().loadStreamedAudio(Path.of(loadingSong.chart.getMusicPath()));
+            });
+        }
+
+        loadingJob.setOnComplete(() -> startGame(loadingSong.chart, loadingSong.music, practiceMode))
+            .setOnFailure(exception -> {
+                releaseMusic(loadingSong.music);
+                FastJEngine.<SceneManager>getLogicManager().switchScenes(SceneNames.SongPicker);
+                SwingUtilities.invokeLater(() -> DialogUtil.showMessageDialog(
+                    DialogConfig.create()
+                        .withParentComponent(FastJEngine.<SimpleDisplay>getDisplay().getWindow())
+                        .withTitle("Couldn't load song")
+                        .withPrompt("There was an error while loading " + songName + ": " + exception.getMessage())
+                        .build()
+                ));
+            });
+
+        GameManager sceneManager = FastJEngine.getLogicManager();
+        LoadingScene loadingScene = sceneManager.getScene(SceneNames.Loading);
+        loadingScene.setLoadingJob(loadingJob);
+        sceneManager.switchScenes(SceneNames.Loading);
+    }
+
+    private static void startGame(SongInfo songInfo, Audio music, boolean practiceMode) {
+        GameManager sceneManager = FastJEngine.getLogicManager();
+        MainGame mainGame = sceneManager.getScene(SceneNames.Game);
+        mainGame.setSongInfo(songInfo);
+        mainGame.setPreparedMusic(music);
+        mainGame.setPracticeMode(practiceMode);
+        sceneManager.switchScenes(SceneNames.Game);
+    }
+
+    private static void releaseMusic(Audio music) {
+        if (music == null) {
+            return;
+        }
+
+        FastJEngine.getGameLoop().removeEventObserver(music.getAudioEventListener(), AudioEvent.class);
+        if (music instanceof MemoryAudio) {
+            FastJEngine.getAudioManager().unloadMemoryAudio(music.getID());
+        } else {
+            FastJEngine.getAudioManager().unloadStreamedAudio(music.getID());
+        }
+    }
+
+    /** What has been loaded of a song so far, filled in by the steps of its loading job. */
+    private static final class LoadingSong {
+        private volatile SongInfo chart;
+        private volatile Audio music;
+        private volatile Path decodedMusicPath;
+
+        private LoadingSong(SongInfo chart, Audio music) {
+            this.chart = chart;
+            this.music = music;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package tech.fastj.gj.scenes.settings;
+
+import tech.fastj.engine.FastJEngine;
+import tech.fastj.gameloop.CoreLoopState;
+import tech.fastj.gj.audio.ClickTrack;
+import tech.fastj.gj.rhythm.OffsetCalibration;
+import tech.fastj.gj.ui.BetterButton;
+import tech.fastj.gj.ui.ContentBox;
+import tech.fastj.gj.user.User;
+import tech.fastj.gj.util.Colors;
+import tech.fastj.gj.util.Fonts;
+import tech.fastj.gj.util.SceneNames;
+import tech.fastj.gj.util.Shapes;
+import tech.fastj.gj.util.TimingService;
+import tech.fastj.graphics.display.FastJCanvas;
+import tech.fastj.graphics.game.Text2D;
+import tech.fastj.input.keyboard.KeyboardActionListener;
+import tech.fastj.input.keyboard.Keys;
+import tech.fastj.input.keyboard.events.KeyboardStateEvent;
+import tech.fastj.logging.Log;
+import tech.fastj.math.Pointf;
+import tech.fastj.math.Transform2D;
+import tech.fastj.systems.audio.AudioEvent;
+import tech.fastj.systems.audio.StreamedAudio;
+import tech.fastj.systems.control.Scene;
+import tech.fastj.systems.control.SceneManager;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Measures the player's audio output latency by having them tap along to a click track, and saves it as their audio
+ * offset.
+ */
+public class Calibration extends Scene {
+
+    private static final double ClickBpm = 100d;
+    private static final int ClickCount = 24;
+    private static final long ClickIntervalNanos = (long) (60d / ClickBpm * 1_000_000_000d);
+    /** How long after pressing start the first click plays. */
+    private static final long LeadInNanos = 1_000_000_000L;
+
+    private final User user = User.getInstance();
+
+    private Path clickTrackPath;
+    private StreamedAudio clickTrack;
+    private TimingService.ScheduledStart clickTrackStart;
+    private OffsetCalibration calibration;
+    private boolean isListening;
+    private int shownTapCount;
+    private double measuredOffsetMs;
+
+    private ContentBox tapsBox;
+    private ContentBox measuredOffsetBox;
+    private ContentBox savedOffsetBox;
+    private KeyboardActionListener tapListener;
+
+    public Calibration() {
+        super(SceneNames.Calibration);
+    }
+
+    @Override
+    public void load(FastJCanvas canvas) {
+        Log.debug(Calibration.class, "loading {}", getSceneName());
+        Pointf center = canvas.getCanvasCenter();
+
+        calibration = new OffsetCalibration(ClickIntervalNanos / 1_000_000_000d, ClickCount);
+        measuredOffsetMs = Double.NaN;
+
+        try {
+            clickTrackPath = ClickTrack.write(ClickBpm, ClickCount);
+        } catch (IOException exception) {
+            Log.error(Calibration.class, "Couldn't create the calibration click track", exception);
+        }
+
+        Text2D titleText = Text2D.create("Calibration")
+            .withFill(Colors.Snowy)
+            .withFont(Fonts.TitleTextFont)
+            .build();
+        titleText.setTranslation(Pointf.subtract(center, titleText.width() / 2f, 200f));
+        drawableManager().addGameObject(titleText);
+
+        Text2D instructionsText = Text2D.create("Press Start, then tap Space in time with each click you hear.")
+            .withFont(Fonts.SmallStatTextFontPlain)
+            .withFill(Colors.Snowy)
+            .withTransform(Pointf.subtract(center, 300f, 120f), Transform2D.DefaultRotation, Transform2D.DefaultScale)
+            .build();
+        drawableManager().addGameObject(instructionsText);
+
+        tapsBox = new ContentBox(this, "Taps", "0 / " + ClickCount);
+        tapsBox.setTranslation(Pointf.subtract(center, 300f, 70f));
+        tapsBox.getStatDisplay().setFont(Fonts.StatTextFont);
+        tapsBox.getStatDisplay().setFill(Colors.Snowy);
+
+        measuredOffsetBox = new ContentBox(this, "Measured Offset", "Not measured yet");
+        measuredOffsetBox.setTranslation(Pointf.subtract(center, 300f, 40f));
+        measuredOffsetBox.getStatDisplay().setFont(Fonts.StatTextFont);
+        measuredOffsetBox.getStatDisplay().setFill(Colors.Snowy);
+
+        savedOffsetBox = new ContentBox(this, "Saved Offset", formatOffset(user.getSettings().getAudioOffsetMs()));
+        savedOffsetBox.setTranslation(Pointf.subtract(center, 300f, 10f));
+        savedOffsetBox.getStatDisplay().setFont(Fonts.StatTextFont);
+        savedOffsetBox.getStatDisplay().setFill(Colors.Snowy);
+
+        BetterButton startButton = new BetterButton(this, Pointf.subtract(center, 350f, -100f), Shapes.ButtonSize);
+        startButton.setText("Start");
+        startButton.setFill(Color.darkGray);
+        startButton.setFont(Fonts.ButtonTextFont);
+        startButton.setOutlineColor(Colors.Snowy);
+        startButton.setTextColor(Colors.Snowy);
+        startButton.setOnAction(mouseButtonEvent -> {
+            mouseButtonEvent.consume();
+            FastJEngine.runLater(this::startCalibration, CoreLoopState.Update);
+        });
+
+        BetterButton saveButton = new BetterButton(this, Pointf.subtract(center, 100f, -100f), Shapes.ButtonSize);
+        saveButton.setText("Save");
+        saveButton.setFill(Color.darkGray);
+        saveButton.setFont(Fonts.ButtonTextFont);
+        saveButton.setOutlineColor(Colors.Snowy);
+        saveButton.setTextColor(Colors.Snowy);
+        saveButton.setOnAction(mouseButtonEvent -> {
+            mouseButtonEvent.consume();
+            FastJEngine.runLater(this::saveOffset, CoreLoopState.Update);
+        });
+
+        BetterButton backButton = new BetterButton(this, Pointf.subtract(center, -150f, -100f), Shapes.ButtonSize);
+        backButton.setText("Back");
+        backButton.setFill(Color.darkGray);
+        backButton.setFont(Fonts.ButtonTextFont);
+        backButton.setOutlineColor(Colors.Snowy);
+        backButton.setTextColor(Colors.Snowy);
+        backButton.setOnAction(mouseButtonEvent -> {
+            mouseButtonEvent.consume();
+            FastJEngine.runLater(() -> FastJEngine.<SceneManager>getLogicManager().switchScenes(SceneNames.MainMenu), CoreLoopState.Update);
+        });
+
+        tapListener = new KeyboardActionListener() {
+            @Override
+            public void onKeyRecentlyPressed(KeyboardStateEvent event) {
+                long tapNanos = System.nanoTime();
+                if (isListening && event.getKey() == Keys.Space) {
+                    calibration.addTap(tapNanos);
+                }
+            }
+        };
+        inputManager().addKeyboardActionListener(tapListener);
+
+        Log.debug(Calibration.class, "loaded {}", getSceneName());
+    }
+
+    @Override
+    public void unload(FastJCanvas canvas) {
+        Log.debug(Calibration.class, "unloading {}", getSceneName());
+
+        isListening = false;
+        stopClickTrack();
+
+        if (tapListener != null) {
+            inputManager().removeKeyboardActionListener(tapListener);
+            tapListener = null;
+        }
+
+        Log.debug(Calibration.class, "unloaded {}", getSceneName());
+    }
+
+    @Override
+    public void update(FastJCanvas canvas) {
+        if (!isListening) {
+            return;
+        }
+
+        if (calibration.getTapCount() != shownTapCount) {
+            shownTapCount = calibration.getTapCount();
+            tapsBox.setContent(shownTapCount + " / " + ClickCount);
+        }
+
+        long lastClickNanos = clickTrackStart.getTargetNanos() + (ClickCount - 1) * ClickIntervalNanos;
+        if (clickTrackStart.getLatenessNanos() >= 0L && System.nanoTime() > lastClickNanos + ClickIntervalNanos) {
+            finishCalibration();
+        }
+    }
+
+    private void startCalibration() {
+        if (isListening || clickTrackPath == null) {
+            return;
+        }
+
+        stopClickTrack();
+        calibration.reset();
+        shownTapCount = 0;
+        tapsBox.setContent("0 / " + ClickCount);
+        measuredOffsetBox.setContent("Listening...");
+
+        StreamedAudio audio = FastJEngine.getAudioManager().loadStreamedAudio(clickTrackPath);
+        audio.getAudioEventListener().setAudioStopAction(event -> FastJEngine.runLater(() -> {
+            FastJEngine.getGameLoop().removeEventObserver(audio.getAudioEventListener(), AudioEvent.class);
+            FastJEngine.getAudioManager().unloadStreamedAudio(audio.getID());
+        }, CoreLoopState.Update));
+
+        clickTrack = audio;
+        clickTrackStart = TimingService.getInstance().schedule(System.nanoTime() + LeadInNanos, audio::play);
+        isListening = true;
+    }
+
+    private void finishCalibration() {
+        isListening = false;
+
+        // the click track starts with a click, so the first one plays the moment playback actually started
+        long firstClickNanos = clickTrackStart.getTargetNanos() + clickTrackStart.getLatenessNanos();
+        measuredOffsetMs = calibration.computeOffsetMs(firstClickNanos);
+
+        if (Double.isNaN(measuredOffsetMs)) {
+            measuredOffsetBox.setContent("Not enough taps -- need at least " + OffsetCalibration.MinimumTaps);
+        } else {
+            measuredOffsetBox.setContent(formatOffset(measuredOffsetMs));
+        }
+
+        Log.info(Calibration.class, "measured an audio offset of {}ms from {} taps", measuredOffsetMs, calibration.getTapCount());
+    }
+
+    private void saveOffset() {
+        if (isListening || Double.isNaN(measuredOffsetMs)) {
+            return;
+        }
+
+        user.getSettings().setAudioOffsetMs(measuredOffsetMs);
+        user.getSettings().save();
+        savedOffsetBox.setContent(formatOffset(measuredOffsetMs));
+    }
+
+    private void stopClickTrack() {
+        if (clickTrackStart != null) {
+            clickTrackStart.cancel();
+            clickTrackStart = null;
+        }
+
+        if (clickTrack != null) {
+            clickTrack.stop();
+            clickTrack = null;
+        }
+    }
+
+    private static String formatOffset(double offsetMs) {
+        return String.format("%+.0f ms", offsetMs);
+    }
+}
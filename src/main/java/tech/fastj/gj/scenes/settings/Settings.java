@@ -57,6 +57,29 @@ public class Settings extends Scene {
 //            user.getSettings().setGameStartDifficulty(GameStartDifficulty.values()[gameDifficulties.getSelectedOption()]);
 //        });
 
+        Text2D audioOffsetText = Text2D.create(String.format("Audio Offset: %+.0f ms", user.getSettings().getAudioOffsetMs()))
+            .withFont(Fonts.StatTextFont)
+            .withFill(Colors.Snowy)
+            .withTransform(Pointf.subtract(center, 100f, 30f), Transform2D.DefaultRotation, Transform2D.DefaultScale)
+            .build();
+        drawableManager().addGameObject(audioOffsetText);
+
+        BetterButton calibrateButton = new BetterButton(this, canvas.getCanvasCenter().add(-100f, 50f), Shapes.ButtonSize);
+        calibrateButton.setText("Calibrate Audio");
+        calibrateButton.setFill(Color.darkGray);
+        calibrateButton.setFont(Fonts.ButtonTextFont);
+        calibrateButton.setOutlineColor(Colors.Snowy);
+        calibrateButton.setTextColor(Colors.Snowy);
+        calibrateButton.setOnAction(mouseButtonEvent -> {
+            mouseButtonEvent.consume();
+            FastJEngine.runLater(() -> {
+                // the main menu's music would drown out the click track, so unload it on the way
+                SceneManager sceneManager = FastJEngine.getLogicManager();
+                sceneManager.switchScenes(SceneNames.MainMenu);
+                sceneManager.switchScenes(SceneNames.Calibration);
+            }, CoreLoopState.Update);
+        });
+
         BetterButton mainMenuButton = new BetterButton(this, canvas.getCanvasCenter().add(-100f, 150f), Shapes.ButtonSize);
         mainMenuButton.setText("Back");
         mainMenuButton.setFill(Color.darkGray);
@@ -3,9 +3,15 @@ package tech.fastj.gj.scenes.songpicker;
 import tech.fastj.engine.FastJEngine;
 import tech.fastj.gameloop.CoreLoopState;
 import tech.fastj.gj.GameManager;
+import tech.fastj.gj.library.SongLibrary;
+import tech.fastj.gj.library.SongMetadata;
+import tech.fastj.gj.loading.LoadingJob;
+import tech.fastj.gj.rhythm.ChartRepository;
 import tech.fastj.gj.rhythm.SongInfo;
-import tech.fastj.gj.scenes.game.MainGame;
+import tech.fastj.gj.rhythm.SongPrefetcher;
+import tech.fastj.gj.scenes.loading.SongLoader;
 import tech.fastj.gj.ui.BetterButton;
+import tech.fastj.gj.ui.SongList;
 import tech.fastj.gj.util.Colors;
 import tech.fastj.gj.util.FilePaths;
 import tech.fastj.gj.util.Fonts;
@@ -16,30 +22,52 @@ import tech.fastj.graphics.dialog.DialogUtil;
 import tech.fastj.graphics.display.FastJCanvas;
 import tech.fastj.graphics.display.SimpleDisplay;
 import tech.fastj.graphics.game.Text2D;
+import tech.fastj.input.keyboard.KeyboardActionListener;
+import tech.fastj.input.keyboard.events.KeyboardStateEvent;
+import tech.fastj.input.keyboard.events.KeyboardTypedEvent;
 import tech.fastj.logging.Log;
 import tech.fastj.math.Pointf;
 import tech.fastj.math.Transform2D;
+import tech.fastj.systems.audio.Audio;
 import tech.fastj.systems.control.Scene;
 import tech.fastj.systems.control.SceneManager;
 
 import java.awt.Color;
 import java.awt.FileDialog;
 import java.io.FilenameFilter;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 import javax.swing.SwingUtilities;
 
-import com.google.gson.Gson;
-
 public class SongPicker extends Scene {
 
+    private static final int SongListRows = 7;
+    private static final Pointf SongListSize = new Pointf(440f, 280f);
+    private static final int MaxQueryLength = 40;
+
+    private final SongLibrary songLibrary;
+    private final Runnable songLibraryListener;
+    private final SongPrefetcher songPrefetcher;
+
     private Text2D customSongInfo;
     private SongInfo customSong;
+    private boolean practiceMode;
+
+    private Text2D songCountText;
+    private Text2D searchText;
+    private SongList songList;
+    private KeyboardActionListener searchListener;
 
     public SongPicker() {
         super(SceneNames.SongPicker);
+        songLibrary = SongLibrary.getInstance();
+        songPrefetcher = new SongPrefetcher();
+        songLibraryListener = () -> FastJEngine.runLater(() -> {
+            if (isInitialized()) {
+                songList.setSearchIndex(songLibrary.getSearchIndex());
+                updateSongCount();
+            }
+        }, CoreLoopState.Update);
     }
 
     @Override
@@ -54,56 +82,92 @@ public class SongPicker extends Scene {
             .build();
         drawableManager().addGameObject(titleText);
 
-        BetterButton playStackAttackButton = new BetterButton(this, Pointf.subtract(center, 225f, 50f), Shapes.ButtonSize);
-        playStackAttackButton.setText("Play Stack Attack");
-        playStackAttackButton.setFill(Color.darkGray);
-        playStackAttackButton.setFont(Fonts.ButtonTextFont);
-        playStackAttackButton.setOutlineColor(Colors.Snowy);
-        playStackAttackButton.setTextColor(Colors.Snowy);
-        playStackAttackButton.setOnAction(mouseButtonEvent -> {
-            mouseButtonEvent.consume();
-            FastJEngine.runLater(() -> {
-                try {
-                    String json = Files.readString(FilePaths.StackAttackJson);
-                    Gson gson = new Gson();
-                    SongInfo stackAttackInfo = gson.fromJson(json, SongInfo.class);
-                    GameManager sceneManager = FastJEngine.getLogicManager();
-
-                    sceneManager.switchScenes(SceneNames.MainMenu);
-                    sceneManager.<MainGame>getScene(SceneNames.Game).setSongInfo(stackAttackInfo);
-                    sceneManager.switchScenes(SceneNames.Game);
-                } catch (IOException exception) {
-                    throw new RuntimeException(exception);
+        searchText = Text2D.fromText("Search: (type to search)");
+        searchText.setFont(Fonts.StatTextFont);
+        searchText.setFill(Colors.Snowy);
+        searchText.setTranslation(Pointf.subtract(center, 400f, 150f));
+        drawableManager().addGameObject(searchText);
+
+        songList = new SongList(this, Pointf.subtract(center, 400f, 140f), SongListSize, SongListRows)
+            .setFont(Fonts.ButtonTextFont)
+            .setTextColor(Colors.Snowy)
+            .setRowFill(Color.darkGray, Color.gray)
+            .setOutline(BetterButton.DefaultOutlineStroke, Colors.Snowy)
+            .setOnSongSelected(song -> {
+                if (song == null) {
+                    songPrefetcher.cancel();
+                } else {
+                    songPrefetcher.focus(song.chartPath(), practiceMode);
                 }
-            }, CoreLoopState.Update);
-        });
+            })
+            .setOnSongChosen(song -> FastJEngine.runLater(() -> play(song), CoreLoopState.Update));
+        songList.setSearchIndex(songLibrary.getSearchIndex());
+        songLibrary.addChangeListener(songLibraryListener);
 
-        BetterButton playLadybirdButton = new BetterButton(this, Pointf.subtract(center, -25f, 50f), Shapes.ButtonSize);
-        playLadybirdButton.setText("Play Ladybird");
-        playLadybirdButton.setFill(Color.darkGray);
-        playLadybirdButton.setFont(Fonts.ButtonTextFont);
-        playLadybirdButton.setOutlineColor(Colors.Snowy);
-        playLadybirdButton.setTextColor(Colors.Snowy);
-        playLadybirdButton.setOnAction(mouseButtonEvent -> {
-            mouseButtonEvent.consume();
-            FastJEngine.runLater(() -> {
-                try {
-                    String json = Files.readString(FilePaths.LadybirdJson);
-                    Gson gson = new Gson();
-                    SongInfo ladybirdInfo;
-                    ladybirdInfo = gson.fromJson(json, SongInfo.class);
-                    GameManager sceneManager = FastJEngine.getLogicManager();
-
-                    sceneManager.switchScenes(SceneNames.MainMenu);
-                    sceneManager.<MainGame>getScene(SceneNames.Game).setSongInfo(ladybirdInfo);
-                    sceneManager.switchScenes(SceneNames.Game);
-                } catch (IOException exception) {
-                    throw new RuntimeException(exception);
+        songCountText = Text2D.fromText("");
+        songCountText.setFont(Fonts.StatTextFont);
+        songCountText.setFill(Colors.Snowy);
+        songCountText.setTranslation(Pointf.subtract(center, 400f, -165f));
+        drawableManager().addGameObject(songCountText);
+        updateSongCount();
+
+        searchListener = new KeyboardActionListener() {
+            @Override
+            public void onKeyTyped(KeyboardTypedEvent event) {
+                char typedChar = event.getKeyChar();
+                if (event.isConsumed() || Character.isISOControl(typedChar) || songList.getQuery().length() >= MaxQueryLength) {
+                    return;
+                }
+
+                event.consume();
+                setQuery(songList.getQuery() + typedChar);
+            }
+
+            @Override
+            public void onKeyRecentlyPressed(KeyboardStateEvent event) {
+                if (event.isConsumed()) {
+                    return;
+                }
+
+                switch (event.getKey()) {
+                    case Up -> songList.moveSelection(-1);
+                    case Down -> songList.moveSelection(1);
+                    case Enter -> songList.chooseSelected();
+                    case BackSpace -> {
+                        String query = songList.getQuery();
+                        if (!query.isEmpty()) {
+                            setQuery(query.substring(0, query.length() - 1));
+                        }
+                    }
+                    case Escape -> setQuery("");
+                    default -> {
+                        return;
+                    }
                 }
-            }, CoreLoopState.Update);
+
+                event.consume();
+            }
+        };
+        inputManager().addKeyboardActionListener(searchListener);
+
+        BetterButton practiceButton = new BetterButton(this, Pointf.subtract(center, -100f, 140f), Shapes.ButtonSize);
+        practiceButton.setText(practiceMode ? "Practice: On" : "Practice: Off");
+        practiceButton.setFill(Color.darkGray);
+        practiceButton.setFont(Fonts.ButtonTextFont);
+        practiceButton.setOutlineColor(Colors.Snowy);
+        practiceButton.setTextColor(Colors.Snowy);
+        practiceButton.setOnAction(mouseButtonEvent -> {
+            mouseButtonEvent.consume();
+            practiceMode = !practiceMode;
+            practiceButton.setText(practiceMode ? "Practice: On" : "Practice: Off");
+
+            SongMetadata selectedSong = songList.getSelectedSong();
+            if (selectedSong != null) {
+                songPrefetcher.focus(selectedSong.chartPath(), practiceMode);
+            }
         });
 
-        BetterButton playCustomButton = new BetterButton(this, Pointf.subtract(center, 225f, -50f), Shapes.ButtonSize);
+        BetterButton playCustomButton = new BetterButton(this, Pointf.subtract(center, -100f, 70f), Shapes.ButtonSize);
         playCustomButton.setText("Play Custom");
         playCustomButton.setFill(Color.darkGray);
         playCustomButton.setFont(Fonts.ButtonTextFont);
@@ -122,16 +186,10 @@ public class SongPicker extends Scene {
                 return;
             }
 
-            FastJEngine.runLater(() -> {
-                GameManager sceneManager = FastJEngine.getLogicManager();
-
-                sceneManager.switchScenes(SceneNames.MainMenu);
-                sceneManager.<MainGame>getScene(SceneNames.Game).setSongInfo(customSong);
-                sceneManager.switchScenes(SceneNames.Game);
-            }, CoreLoopState.Update);
+            FastJEngine.runLater(() -> play(customSong), CoreLoopState.Update);
         });
 
-        BetterButton browseCustomButton = new BetterButton(this, Pointf.subtract(center, -25f, -50f), Shapes.ButtonSize);
+        BetterButton browseCustomButton = new BetterButton(this, Pointf.subtract(center, -100f, 0f), Shapes.ButtonSize);
         browseCustomButton.setText("Browse...");
         browseCustomButton.setFill(Color.darkGray);
         browseCustomButton.setFont(Fonts.ButtonTextFont);
@@ -152,26 +210,14 @@ public class SongPicker extends Scene {
                     return;
                 }
 
-                try {
-                    String json = Files.readString(Path.of(path));
-                    Gson gson = new Gson();
-                    setCustomSong(gson.fromJson(json, SongInfo.class));
-                } catch (Exception exception) {
-                    DialogUtil.showMessageDialog(
-                        DialogConfig.create()
-                            .withParentComponent(FastJEngine.<SimpleDisplay>getDisplay().getWindow())
-                            .withTitle("Couldn't load song data")
-                            .withPrompt("There was an error while loading the song data: " + exception.getMessage() + ". No data was loaded.")
-                            .build()
-                    );
-                }
+                FastJEngine.runLater(() -> loadCustomSong(Path.of(path)), CoreLoopState.Update);
             });
         });
 
         customSongInfo = Text2D.fromText("No custom song loaded.");
         customSongInfo.setFont(Fonts.StatTextFont);
         customSongInfo.setFill(Colors.Snowy);
-        customSongInfo.setTranslation(Pointf.subtract(center, 225f, -125f));
+        customSongInfo.setTranslation(Pointf.subtract(center, -100f, -80f));
         drawableManager().addGameObject(customSongInfo);
         if (customSong != null) {
             setCustomSong(customSong);
@@ -191,13 +237,79 @@ public class SongPicker extends Scene {
         Log.debug(SongPicker.class, "loaded {}", getSceneName());
     }
 
+    @Override
+    public void unload(FastJCanvas canvas) {
+        Log.debug(SongPicker.class, "unloading {}", getSceneName());
+
+        songLibrary.removeChangeListener(songLibraryListener);
+        songPrefetcher.cancel();
+        if (searchListener != null) {
+            inputManager().removeKeyboardActionListener(searchListener);
+            searchListener = null;
+        }
+
+        Log.debug(SongPicker.class, "unloaded {}", getSceneName());
+    }
+
+    private void setQuery(String query) {
+        songList.setQuery(query);
+        searchText.setText("Search: " + (query.isEmpty() ? "(type to search)" : query));
+        updateSongCount();
+    }
+
+    private void updateSongCount() {
+        if (songList.getSongCount() == 0) {
+            songCountText.setText("No songs found in " + songLibrary.getSongsDirectory() + ".");
+        } else {
+            songCountText.setText(songList.getResultCount() + " of " + songList.getSongCount() + " songs");
+        }
+    }
+
+    private void play(SongMetadata song) {
+        SongPrefetcher.PreparedSong preparedSong = songPrefetcher.take(song.chartPath(), practiceMode);
+        play(song.songName(), song.chartPath(), preparedSong.chart(), preparedSong.music());
+    }
+
+    private void play(SongInfo songInfo) {
+        play(songInfo.getSongName(), null, songInfo, null);
+    }
+
+    private void play(String songName, Path chartPath, SongInfo preparedChart, Audio preparedMusic) {
+        // switching through the main menu unloads it, stopping its music
+        FastJEngine.<GameManager>getLogicManager().switchScenes(SceneNames.MainMenu);
+        SongLoader.play(songName, chartPath, preparedChart, preparedMusic, practiceMode);
+    }
+
+    /** Reads a custom chart in the background, so the picker stays responsive while it loads. */
+    private void loadCustomSong(Path chartPath) {
+        customSongInfo.setText("Loading custom song...");
+
+        SongInfo[] loadedChart = new SongInfo[1];
+        new LoadingJob("Loading custom song")
+            .addStep("Reading chart", 1d, progress -> loadedChart[0] = ChartRepository.getInstance().load(chartPath))
+            .setOnComplete(() -> setCustomSong(loadedChart[0]))
+            .setOnFailure(exception -> {
+                setCustomSong(customSong);
+                SwingUtilities.invokeLater(() -> DialogUtil.showMessageDialog(
+                    DialogConfig.create()
+                        .withParentComponent(FastJEngine.<SimpleDisplay>getDisplay().getWindow())
+                        .withTitle("Couldn't load song data")
+                        .withPrompt("There was an error while loading the song data: " + exception.getMessage() + ". No data was loaded.")
+                        .build()
+                ));
+            })
+            .start();
+    }
+
     private void setCustomSong(SongInfo songInfo) {
         if (songInfo == null) {
             return;
         }
 
         customSong = songInfo;
-        customSongInfo.setText("Custom Song: " + customSong.getSongName());
+        if (isInitialized()) {
+            customSongInfo.setText("Custom Song: " + customSong.getSongName());
+        }
     }
 
     private String browseForPath(String title, int fileDialogType, FilenameFilter filter, String invalidFormatMessage, String firstFileType) {
@@ -21,6 +21,8 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public class Notice extends GameObject implements Behavior {
@@ -34,19 +36,32 @@ public class Notice extends GameObject implements Behavior {
 
     private static final Pointf OriginInstance = Pointf.origin();
     private static final BufferedImage GraphicsHelper = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_ARGB);
+    /** Every alpha value of each color a notice has faded, so fading out never creates new colors. */
+    private static final Map<Color, Color[]> FadeRamps = new HashMap<>();
+    private static final long DisplayNanos = 3 * 1_000_000_000L;
 
     private String text;
     private Color fillColor;
+    private Color[] fadeRamp;
+    private int alpha;
     private Font font;
     private final Pointf location;
-    private final long timestamp = System.nanoTime();
-    private final long endTimestamp = timestamp + (3 * 1_000_000_000L);
+    private final Pointf translation = new Pointf();
+    private long timestamp = System.nanoTime();
+    private long endTimestamp = timestamp + DisplayNanos;
 
+    private final NoticePool pool;
+    private boolean isActive = true;
     private boolean hasMetrics;
 
     public Notice(String text, Pointf location, BehaviorHandler handler) {
+        this(text, location, handler, null);
+    }
+
+    Notice(String text, Pointf location, BehaviorHandler handler, NoticePool pool) {
         this.text = Objects.requireNonNullElse(text, DefaultText);
         this.location = location;
+        this.pool = pool;
 
         setFont(DefaultFont);
         setFill(DefaultFill);
@@ -104,6 +119,8 @@ public class Notice extends GameObject implements Behavior {
      */
     public Notice setFill(Color newColor) {
         fillColor = newColor;
+        fadeRamp = FadeRamps.computeIfAbsent(newColor, Notice::createFadeRamp);
+        alpha = newColor.getAlpha();
         return this;
     }
 
@@ -122,6 +139,45 @@ public class Notice extends GameObject implements Behavior {
         return this;
     }
 
+    /** Whether the {@code Notice} is still being shown. Pooled notices become inactive once they fade out. */
+    public boolean isActive() {
+        return isActive;
+    }
+
+    /**
+     * Shows a pooled {@code Notice} again from the start of its fade, with new text and color.
+     * <p>
+     * The text's metrics are only measured again when the text changes.
+     *
+     * @param newText  The new text value.
+     * @param newColor The new {@code Color} value.
+     */
+    void restart(String newText, Color newColor) {
+        if (!text.equals(newText)) {
+            setText(newText);
+        }
+
+        setFill(newColor);
+        timestamp = System.nanoTime();
+        endTimestamp = timestamp + DisplayNanos;
+        isActive = true;
+
+        translation.x = location.x;
+        translation.y = location.y * 2f;
+        setTranslation(translation);
+        setShouldRender(true);
+    }
+
+    /** Hides a pooled {@code Notice} until it is restarted. */
+    void deactivate() {
+        isActive = false;
+        setShouldRender(false);
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
     @Override
     public void render(Graphics2D g) {
         if (!hasMetrics) {
@@ -198,6 +254,15 @@ public class Notice extends GameObject implements Behavior {
         return result;
     }
 
+    private static Color[] createFadeRamp(Color color) {
+        Color[] fadeRamp = new Color[256];
+        for (int alpha = 0; alpha < fadeRamp.length; alpha++) {
+            fadeRamp[alpha] = new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+        }
+
+        return fadeRamp;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -230,7 +295,17 @@ public class Notice extends GameObject implements Behavior {
 
     @Override
     public void update(GameObject gameObject) {
-        if (fillColor.getAlpha() - 1 == 0) {
+        if (!isActive) {
+            return;
+        }
+
+        if (alpha - 1 == 0) {
+            if (pool != null) {
+                pool.release(this);
+                return;
+            }
+
+            isActive = false;
             FastJEngine.runLater(() -> {
                 LogicManager logicManager = FastJEngine.getLogicManager();
                 if (logicManager instanceof SceneManager sceneManager) {
@@ -240,11 +315,13 @@ public class Notice extends GameObject implements Behavior {
                 }
             }, CoreLoopState.Update);
         } else {
-            Color moreTransparentColor = new Color(fillColor.getRed(), fillColor.getGreen(), fillColor.getBlue(), fillColor.getAlpha() - 1);
-            setFill(moreTransparentColor);
+            alpha--;
+            fillColor = fadeRamp[alpha];
 
             float yTranslation = Maths.lerp(location.y, location.y + 250f, (float) ExtraMaths.normalize(System.nanoTime(), timestamp, endTimestamp));
-            gameObject.setTranslation(Pointf.add(location, 0f, yTranslation));
+            translation.x = location.x;
+            translation.y = location.y + yTranslation;
+            gameObject.setTranslation(translation);
         }
     }
 }
@@ -0,0 +1,76 @@
+package tech.fastj.gj.ui;
+
+import tech.fastj.math.Pointf;
+import tech.fastj.systems.control.GameHandler;
+
+import java.awt.Color;
+import java.awt.Font;
+
+/**
+ * A fixed set of {@link Notice notices} that are shown and hidden again instead of being created and destroyed.
+ * <p>
+ * Each notice keeps its text between uses, so a pool used for a handful of messages settles into reusing a notice
+ * that already shows the right text. When every notice is in use, the oldest one is restarted.
+ */
+public class NoticePool {
+
+    private final Notice[] notices;
+
+    public NoticePool(GameHandler origin, Pointf location, Font font, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Notice pool capacity must be positive, got " + capacity);
+        }
+
+        notices = new Notice[capacity];
+        for (int i = 0; i < capacity; i++) {
+            Notice notice = new Notice(Notice.DefaultText, location, origin, this);
+            notice.setFont(font);
+            notice.deactivate();
+
+            notices[i] = notice;
+            origin.drawableManager().addGameObject(notice);
+        }
+    }
+
+    /**
+     * Shows a notice from the pool.
+     *
+     * @param text  The text to show.
+     * @param color The color to show the text in.
+     * @return The notice that was shown.
+     */
+    public Notice show(String text, Color color) {
+        Notice inactive = null;
+        Notice oldest = notices[0];
+
+        for (Notice notice : notices) {
+            if (!notice.isActive()) {
+                if (notice.getText().equals(text)) {
+                    inactive = notice;
+                    break;
+                }
+
+                if (inactive == null) {
+                    inactive = notice;
+                }
+            } else if (notice.getTimestamp() < oldest.getTimestamp()) {
+                oldest = notice;
+            }
+        }
+
+        Notice notice = inactive != null ? inactive : oldest;
+        notice.restart(text, color);
+        return notice;
+    }
+
+    /** Hides every notice in the pool. */
+    public void clear() {
+        for (Notice notice : notices) {
+            notice.deactivate();
+        }
+    }
+
+    void release(Notice notice) {
+        notice.deactivate();
+    }
+}
@@ -0,0 +1,88 @@
+package tech.fastj.gj.ui;
+
+import tech.fastj.graphics.ui.UIElement;
+import tech.fastj.graphics.util.DrawUtil;
+import tech.fastj.input.InputActionEvent;
+import tech.fastj.math.Pointf;
+import tech.fastj.systems.control.GameHandler;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+
+/** A bar that fills from left to right as some work progresses. */
+public class ProgressBar extends UIElement<InputActionEvent> {
+
+    private final Rectangle2D.Float outline;
+    private final Rectangle2D.Float filled;
+
+    private Paint fill;
+    private Color outlineColor;
+    private Stroke outlineStroke;
+    private double progress;
+
+    public ProgressBar(GameHandler origin, Pointf location, Pointf size) {
+        super(origin);
+        this.outline = new Rectangle2D.Float(0f, 0f, size.x, size.y);
+        this.filled = new Rectangle2D.Float(0f, 0f, 0f, size.y);
+
+        this.fill = Color.white;
+        this.outlineColor = Color.white;
+        this.outlineStroke = BetterButton.DefaultOutlineStroke;
+
+        setCollisionPath(DrawUtil.createPath(DrawUtil.createBox(Pointf.origin(), size)));
+        translate(location);
+    }
+
+    public ProgressBar setFill(Paint fill) {
+        this.fill = fill;
+        return this;
+    }
+
+    public ProgressBar setOutline(Stroke outlineStroke, Color outlineColor) {
+        this.outlineStroke = outlineStroke;
+        this.outlineColor = outlineColor;
+        return this;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets how full the bar is.
+     *
+     * @param progress How full the bar is, from {@code 0} to {@code 1}.
+     */
+    public void setProgress(double progress) {
+        this.progress = Math.max(0d, Math.min(progress, 1d));
+        filled.width = (float) (outline.width * this.progress);
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        AffineTransform oldTransform = (AffineTransform) g.getTransform().clone();
+        Paint oldPaint = g.getPaint();
+        Stroke oldStroke = g.getStroke();
+
+        g.transform(getTransformation());
+        g.setPaint(fill);
+        g.fill(filled);
+
+        g.setStroke(outlineStroke);
+        g.setPaint(outlineColor);
+        g.draw(outline);
+
+        g.setPaint(oldPaint);
+        g.setStroke(oldStroke);
+        g.setTransform(oldTransform);
+    }
+
+    @Override
+    public void destroy(GameHandler origin) {
+        destroyTheRest(origin);
+    }
+}
@@ -0,0 +1,343 @@
+package tech.fastj.gj.ui;
+
+import tech.fastj.gj.library.SongMetadata;
+import tech.fastj.gj.library.SongSearchIndex;
+import tech.fastj.graphics.ui.UIElement;
+import tech.fastj.graphics.util.DrawUtil;
+import tech.fastj.input.mouse.Mouse;
+import tech.fastj.input.mouse.MouseAction;
+import tech.fastj.input.mouse.MouseActionListener;
+import tech.fastj.input.mouse.MouseButtons;
+import tech.fastj.input.mouse.events.MouseButtonEvent;
+import tech.fastj.input.mouse.events.MouseScrollEvent;
+import tech.fastj.math.Pointf;
+import tech.fastj.systems.control.GameHandler;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A scrolling list of songs, filtered by a search query.
+ * <p>
+ * The list is virtualized: however many songs match, only the rows that fit in the list are labelled and drawn, and
+ * scrolling just relabels those rows. Clicking a row, or pressing enter with a row selected, chooses its song.
+ */
+public class SongList extends UIElement<MouseButtonEvent> implements MouseActionListener {
+
+    private static final int ScrollRows = 3;
+
+    private final Pointf size;
+    private final float rowHeight;
+    private final String[] rowLabels;
+    private final Rectangle2D.Float rowBounds;
+    private final Rectangle2D.Float listBounds;
+    private final Rectangle2D.Float scrollThumb;
+
+    private Font font;
+    private Color textColor;
+    private Paint rowFill;
+    private Paint selectedRowFill;
+    private Color outlineColor;
+    private Stroke outlineStroke;
+
+    private SongSearchIndex searchIndex;
+    private String query;
+    private int[] results;
+    private int scrollOffset;
+    private int selectedResult;
+
+    private Consumer<SongMetadata> onSongChosen;
+    private Consumer<SongMetadata> onSongSelected;
+
+    /**
+     * Creates an empty song list.
+     *
+     * @param origin   The scene to add the list to.
+     * @param location The list's top-left corner.
+     * @param size     The list's size.
+     * @param rowCount The number of rows that fit in the list.
+     */
+    public SongList(GameHandler origin, Pointf location, Pointf size, int rowCount) {
+        super(origin);
+        this.size = size.copy();
+        this.rowHeight = size.y / rowCount;
+        this.rowLabels = new String[rowCount];
+        this.rowBounds = new Rectangle2D.Float(0f, 0f, size.x, rowHeight);
+        this.listBounds = new Rectangle2D.Float(0f, 0f, size.x, size.y);
+        this.scrollThumb = new Rectangle2D.Float(size.x - 6f, 0f, 4f, 0f);
+
+        this.font = BetterButton.DefaultFont;
+        this.textColor = Color.white;
+        this.rowFill = Color.darkGray;
+        this.selectedRowFill = Color.gray;
+        this.outlineColor = Color.white;
+        this.outlineStroke = BetterButton.DefaultOutlineStroke;
+
+        this.searchIndex = SongSearchIndex.build(List.of());
+        this.query = "";
+        this.results = searchIndex.search(query);
+        this.selectedResult = -1;
+
+        super.setOnActionCondition(event -> Mouse.interactsWith(SongList.this, MouseAction.Press) && Mouse.isMouseButtonPressed(MouseButtons.Left));
+        setCollisionPath(DrawUtil.createPath(DrawUtil.createBox(Pointf.origin(), size)));
+        translate(location);
+
+        origin.inputManager().addMouseActionListener(this);
+    }
+
+    public SongList setFont(Font font) {
+        this.font = font;
+        return this;
+    }
+
+    public SongList setTextColor(Color textColor) {
+        this.textColor = textColor;
+        return this;
+    }
+
+    public SongList setRowFill(Paint rowFill, Paint selectedRowFill) {
+        this.rowFill = rowFill;
+        this.selectedRowFill = selectedRowFill;
+        return this;
+    }
+
+    public SongList setOutline(Stroke outlineStroke, Color outlineColor) {
+        this.outlineStroke = outlineStroke;
+        this.outlineColor = outlineColor;
+        return this;
+    }
+
+    /**
+     * Sets the action to run when a song is chosen, by clicking it or pressing enter on it.
+     *
+     * @param onSongChosen The action to run.
+     * @return The {@link SongList}, for method chaining.
+     */
+    public SongList setOnSongChosen(Consumer<SongMetadata> onSongChosen) {
+        this.onSongChosen = onSongChosen;
+        return this;
+    }
+
+    /**
+     * Sets the action to run when the selected song changes. The action is given {@code null} when no song is selected.
+     *
+     * @param onSongSelected The action to run.
+     * @return The {@link SongList}, for method chaining.
+     */
+    public SongList setOnSongSelected(Consumer<SongMetadata> onSongSelected) {
+        this.onSongSelected = onSongSelected;
+        return this;
+    }
+
+    /**
+     * Sets the songs to list, keeping the current query and, if it still matches, the selected song.
+     *
+     * @param searchIndex The search index of the songs to list.
+     */
+    public void setSearchIndex(SongSearchIndex searchIndex) {
+        SongMetadata selectedSong = getSelectedSong();
+        this.searchIndex = searchIndex;
+        this.results = searchIndex.search(query);
+
+        selectedResult = -1;
+        if (selectedSong != null) {
+            for (int i = 0; i < results.length; i++) {
+                if (searchIndex.getSongs().get(results[i]).chartPath().equals(selectedSong.chartPath())) {
+                    selectedResult = i;
+                    break;
+                }
+            }
+        }
+
+        scrollTo(scrollOffset);
+        if (selectedResult == -1 && selectedSong != null) {
+            songSelected();
+        }
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Filters the list to the songs matching the provided query, scrolling back to the top.
+     *
+     * @param query The search query.
+     */
+    public void setQuery(String query) {
+        SongMetadata previousSong = getSelectedSong();
+        this.query = query;
+        this.results = searchIndex.search(query);
+
+        selectedResult = results.length > 0 ? 0 : -1;
+        scrollTo(0);
+        if (getSelectedSong() != previousSong) {
+            songSelected();
+        }
+    }
+
+    /** Gets the number of songs matching the current query. */
+    public int getResultCount() {
+        return results.length;
+    }
+
+    /** Gets the total number of songs, whether or not they match the current query. */
+    public int getSongCount() {
+        return searchIndex.size();
+    }
+
+    public SongMetadata getSelectedSong() {
+        return selectedResult == -1 ? null : searchIndex.getSongs().get(results[selectedResult]);
+    }
+
+    /**
+     * Moves the selection by the provided number of rows, scrolling to keep it in view.
+     *
+     * @param rows The number of rows to move by; negative to move up.
+     */
+    public void moveSelection(int rows) {
+        if (results.length == 0) {
+            return;
+        }
+
+        select(Math.max(0, Math.min(results.length - 1, selectedResult + rows)));
+    }
+
+    /** Chooses the selected song, if there is one. */
+    public void chooseSelected() {
+        SongMetadata selectedSong = getSelectedSong();
+        if (selectedSong != null && onSongChosen != null) {
+            onSongChosen.accept(selectedSong);
+        }
+    }
+
+    private void select(int result) {
+        boolean hasChanged = result != selectedResult;
+        selectedResult = result;
+        scrollToSelection();
+
+        if (hasChanged) {
+            songSelected();
+        }
+    }
+
+    private void scrollToSelection() {
+        if (selectedResult < scrollOffset) {
+            scrollTo(selectedResult);
+        } else if (selectedResult >= scrollOffset + rowLabels.length) {
+            scrollTo(selectedResult - rowLabels.length + 1);
+        } else {
+            refreshRows();
+        }
+    }
+
+    private void songSelected() {
+        if (onSongSelected != null) {
+            onSongSelected.accept(getSelectedSong());
+        }
+    }
+
+    private void scrollTo(int offset) {
+        scrollOffset = Math.max(0, Math.min(offset, results.length - rowLabels.length));
+        refreshRows();
+    }
+
+    /** Labels the visible rows. Only these rows are ever labelled, however many songs match. */
+    private void refreshRows() {
+        for (int row = 0; row < rowLabels.length; row++) {
+            int result = scrollOffset + row;
+            if (result < results.length) {
+                SongMetadata song = searchIndex.getSongs().get(results[result]);
+                rowLabels[row] = String.format("%s  (%.0f BPM, %d notes, %s)", song.songName(), song.bpm(), song.noteCount(), song.formatDuration());
+            } else {
+                rowLabels[row] = null;
+            }
+        }
+    }
+
+    @Override
+    public void render(Graphics2D g) {
+        AffineTransform oldTransform = (AffineTransform) g.getTransform().clone();
+        Paint oldPaint = g.getPaint();
+        Stroke oldStroke = g.getStroke();
+        Font oldFont = g.getFont();
+
+        g.transform(getTransformation());
+        Shape oldClip = g.getClip();
+        g.setFont(font);
+        FontMetrics fontMetrics = g.getFontMetrics();
+        float textOffset = (rowHeight + fontMetrics.getAscent() - fontMetrics.getDescent()) / 2f;
+
+        for (int row = 0; row < rowLabels.length && rowLabels[row] != null; row++) {
+            rowBounds.y = row * rowHeight;
+            g.setPaint(scrollOffset + row == selectedResult ? selectedRowFill : rowFill);
+            g.fill(rowBounds);
+
+            g.clip(rowBounds);
+            g.setPaint(textColor);
+            g.drawString(rowLabels[row], 10f, rowBounds.y + textOffset);
+            g.setClip(oldClip);
+        }
+
+        if (results.length > rowLabels.length) {
+            float thumbHeight = Math.max(size.y * rowLabels.length / results.length, 10f);
+            scrollThumb.y = (size.y - thumbHeight) * scrollOffset / (results.length - rowLabels.length);
+            scrollThumb.height = thumbHeight;
+            g.setPaint(textColor);
+            g.fill(scrollThumb);
+        }
+
+        g.setStroke(outlineStroke);
+        g.setPaint(outlineColor);
+        g.draw(listBounds);
+
+        g.setPaint(oldPaint);
+        g.setStroke(oldStroke);
+        g.setFont(oldFont);
+        g.setTransform(oldTransform);
+    }
+
+    @Override
+    public void onMousePressed(MouseButtonEvent mouseButtonEvent) {
+        if (!onActionCondition.condition(mouseButtonEvent)) {
+            return;
+        }
+
+        mouseButtonEvent.consume();
+        int row = (int) ((Mouse.getMouseLocation().y - getTranslation().y) / rowHeight);
+        int result = scrollOffset + row;
+        if (row < 0 || row >= rowLabels.length || result >= results.length) {
+            return;
+        }
+
+        select(result);
+        chooseSelected();
+    }
+
+    @Override
+    public void onMouseWheelScrolled(MouseScrollEvent mouseScrollEvent) {
+        if (!Mouse.interactsWith(SongList.this, MouseAction.WheelScroll)) {
+            return;
+        }
+
+        mouseScrollEvent.consume();
+        scrollTo(scrollOffset + (int) Math.signum(mouseScrollEvent.getWheelRotation()) * ScrollRows);
+    }
+
+    @Override
+    public void destroy(GameHandler origin) {
+        super.destroyTheRest(origin);
+        origin.inputManager().removeMouseActionListener(this);
+        onSongChosen = null;
+        onSongSelected = null;
+    }
+}
@@ -1,11 +1,28 @@
 package tech.fastj.gj.user;
 
+import tech.fastj.gj.rhythm.JudgmentProfile;
+import tech.fastj.gj.util.FilePaths;
+import tech.fastj.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
 //import tech.fastj.stackattack.scenes.game.GameStartDifficulty;
 
 public class UserSettings {
 
 //    private GameStartDifficulty gameStartDifficulty;
     private int highestDifficultyReached;
+    private String judgmentProfileName = JudgmentProfile.Standard;
+    private transient JudgmentProfile judgmentProfile;
+    /** How long after it is scheduled the player hears the audio, in milliseconds. */
+    private double audioOffsetMs;
 
     public UserSettings() {
 //        this.gameStartDifficulty = GameStartDifficulty.Normal;
@@ -35,6 +52,82 @@ public class UserSettings {
 //        return gameStartDifficulty;
 //    }
 
+    /**
+     * Loads the saved user settings.
+     *
+     * @return The saved settings, or default settings if none are saved or they couldn't be read.
+     */
+    public static UserSettings load() {
+        Path settingsPath = FilePaths.UserSettingsJson;
+        if (!Files.exists(settingsPath)) {
+            return new UserSettings();
+        }
+
+        try {
+            UserSettings settings = new Gson().fromJson(Files.readString(settingsPath, StandardCharsets.UTF_8), UserSettings.class);
+            return settings != null ? settings : new UserSettings();
+        } catch (IOException | JsonParseException exception) {
+            Log.warn(UserSettings.class, "Couldn't load user settings, using defaults", exception);
+            return new UserSettings();
+        }
+    }
+
+    /** Saves the settings, so they are loaded again next time the game starts. */
+    public void save() {
+        Path settingsPath = FilePaths.UserSettingsJson;
+
+        try {
+            Files.createDirectories(settingsPath.getParent());
+            Files.writeString(settingsPath, new Gson().toJson(this), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            Log.warn(UserSettings.class, "Couldn't save user settings", exception);
+        }
+    }
+
+    /**
+     * Gets the judgment profile the player picked.
+     *
+     * @return The picked profile, or the {@link JudgmentProfile#Standard standard} profile if the picked one couldn't
+     * be loaded.
+     */
+    public JudgmentProfile getJudgmentProfile() {
+        if (judgmentProfile == null) {
+            if (judgmentProfileName == null) {
+                judgmentProfileName = JudgmentProfile.Standard;
+            }
+
+            try {
+                // older settings saved the profile's display name rather than its resource name
+                judgmentProfile = JudgmentProfile.load(judgmentProfileName.toLowerCase(Locale.ROOT));
+            } catch (IllegalStateException exception) {
+                Log.warn(UserSettings.class, "Couldn't load judgment profile {}, using the standard profile", judgmentProfileName, exception);
+                judgmentProfileName = JudgmentProfile.Standard;
+                judgmentProfile = JudgmentProfile.load(JudgmentProfile.Standard);
+            }
+        }
+
+        return judgmentProfile;
+    }
+
+    /**
+     * Picks a bundled judgment profile.
+     *
+     * @param profileName The profile's resource name, such as {@link JudgmentProfile#Lenient}.
+     * @throws IllegalStateException If the profile couldn't be loaded.
+     */
+    public void setJudgmentProfile(String profileName) {
+        this.judgmentProfile = JudgmentProfile.load(profileName);
+        this.judgmentProfileName = profileName;
+    }
+
+    public double getAudioOffsetMs() {
+        return audioOffsetMs;
+    }
+
+    public void setAudioOffsetMs(double audioOffsetMs) {
+        this.audioOffsetMs = audioOffsetMs;
+    }
+
     public int getHighestDifficultyReached() {
         return highestDifficultyReached;
     }
@@ -8,6 +8,7 @@ public class Colors {
     public static final Color Snowy = new Color(215, 215, 235);
 
     public static final Color PerfectGold = new Color(255, 215, 0);
+    public static final Color MistakeRed = Color.red.brighter();
 
     public static Color darkGray(int alpha) {
         return new Color(Color.darkGray.getRed(), Color.darkGray.getGreen(), Color.darkGray.getBlue(), alpha);
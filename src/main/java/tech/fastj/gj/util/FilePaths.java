@@ -6,9 +6,10 @@ import java.util.Objects;
 
 public class FilePaths {
 
-    public static final Path StackAttackJson = Path.of("json/Stack Attack.json");
-    public static final Path LadybirdJson = Path.of("json/Ladybird.json");
+    public static final Path SongsDirectory = Path.of("json");
     public static final Path MainMenuMusic = Path.of("audio/Letter_to_the_Hand_Man-Percussion.ogg");
+    public static final Path UserSettingsJson = Path.of(System.getProperty("user.home"), ".fastj-rhythm-game", "settings.json");
+    public static final Path SongIndexFile = Path.of(System.getProperty("user.home"), ".fastj-rhythm-game", "song-index.bin");
 
     public static final InputStream NotoSansRegular = streamResource("/notosans/NotoSans-Regular.ttf");
     public static final InputStream NotoSansBold = streamResource("/notosans/NotoSans-Bold.ttf");
@@ -2,16 +2,16 @@ package tech.fastj.gj.util;
 
 import tech.fastj.engine.FastJEngine;
 import tech.fastj.gj.gameobjects.KeyCircle;
-import tech.fastj.gj.gameobjects.MusicNote;
+import tech.fastj.gj.gameobjects.LaneRenderer;
 import tech.fastj.gj.rhythm.Conductor;
 import tech.fastj.gj.rhythm.GeneralSongInfo;
-import tech.fastj.gj.scripts.MusicNoteMovement;
+import tech.fastj.gj.user.User;
 import tech.fastj.graphics.display.FastJCanvas;
-import tech.fastj.graphics.util.DrawUtil;
 import tech.fastj.input.keyboard.Keys;
 import tech.fastj.math.Maths;
 import tech.fastj.math.Point;
 import tech.fastj.math.Pointf;
+import tech.fastj.systems.audio.Audio;
 import tech.fastj.systems.control.GameHandler;
 
 import java.awt.Color;
@@ -19,6 +19,9 @@ import java.util.List;
 
 public class RhythmUtil {
 
+    /** How many notes a new lane renderer makes room for -- enough for most songs to never grow it. */
+    public static final int LaneRendererCapacity = 64;
+
     public static void createLaneKeys(GameHandler gameHandler, Conductor conductor, List<KeyCircle> keyCircles) {
         List<Keys> laneKeys = conductor.musicInfo.getLaneKeys();
         FastJCanvas canvas = FastJEngine.getCanvas();
@@ -42,26 +45,55 @@ public class RhythmUtil {
         }
     }
 
+    /**
+     * Creates the lane keys, then moves the lane renderer in front of them, so notes fall over the keys rather than
+     * under them.
+     */
+    public static void createLaneKeys(GameHandler gameHandler, Conductor conductor, List<KeyCircle> keyCircles, LaneRenderer laneRenderer) {
+        createLaneKeys(gameHandler, conductor, keyCircles);
+        gameHandler.drawableManager().removeGameObject(laneRenderer);
+        gameHandler.drawableManager().addGameObject(laneRenderer);
+    }
+
     public static Conductor createConductor(GameHandler gameHandler, GeneralSongInfo songInfo, FastJCanvas canvas) {
-        Conductor conductor = new Conductor(songInfo, gameHandler, true);
-
-        conductor.setSpawnMusicNote((note, noteLane) -> {
-            Pointf noteStartingLocation = new Pointf((canvas.getCanvasCenter().x) + (noteLane * Shapes.NoteSize * 2.5f), -Shapes.NoteSize / 2f);
-            Color musicNoteColor = DrawUtil.randomColor();
-            MusicNote musicNote = new MusicNote(noteStartingLocation, Shapes.NoteSize)
-                .setFill(musicNoteColor)
-                .setOutline(MusicNote.DefaultOutlineStroke, musicNoteColor.darker());
-
-            double noteTravelDistance = canvas.getResolution().y - (Shapes.NoteSize * 4f);
-            MusicNoteMovement musicNoteMovement = new MusicNoteMovement(conductor, note, noteTravelDistance);
-            musicNote.addLateBehavior(musicNoteMovement, gameHandler);
-            gameHandler.drawableManager().addGameObject(musicNote);
-        });
+        return createConductor(gameHandler, songInfo, canvas, false);
+    }
+
+    public static Conductor createConductor(GameHandler gameHandler, GeneralSongInfo songInfo, FastJCanvas canvas, boolean seekable) {
+        return createConductor(gameHandler, songInfo, null, canvas, seekable);
+    }
+
+    public static Conductor createConductor(GameHandler gameHandler, GeneralSongInfo songInfo, Audio preparedMusic, FastJCanvas canvas, boolean seekable) {
+        return createConductor(gameHandler, songInfo, preparedMusic, createLaneRenderer(gameHandler, canvas), canvas, seekable);
+    }
+
+    /**
+     * Creates a conductor whose notes are drawn by the provided lane renderer, so a scene that plays more than one
+     * song, or the same song more than once, can keep reusing the same renderer.
+     */
+    public static Conductor createConductor(GameHandler gameHandler, GeneralSongInfo songInfo, Audio preparedMusic, LaneRenderer laneRenderer,
+                                            FastJCanvas canvas, boolean seekable) {
+        Conductor conductor = new Conductor(songInfo, preparedMusic, gameHandler, true, seekable);
+        conductor.outputLatency = User.getInstance().getSettings().getAudioOffsetMs() / 1000d;
+
+        laneRenderer.attach(
+            conductor,
+            canvas.getCanvasCenter().x,
+            Shapes.NoteSize * 2.5f,
+            -Shapes.NoteSize / 2f,
+            canvas.getResolution().y - (Shapes.NoteSize * 4f)
+        );
+        conductor.setSpawnMusicNote(laneRenderer::spawn);
         gameHandler.drawableManager().addGameObject(conductor);
 
         return conductor;
     }
 
+    public static LaneRenderer createLaneRenderer(GameHandler gameHandler, FastJCanvas canvas) {
+        Point canvasResolution = canvas.getResolution();
+        return new LaneRenderer(gameHandler, Shapes.NoteSize, new Pointf(canvasResolution.x, canvasResolution.y), LaneRendererCapacity);
+    }
+
     public static double adjustBeatPosition(double inputBeatPosition) {
         int cutBeatPosition = (int) inputBeatPosition;
 
@@ -7,4 +7,6 @@ public class SceneNames {
     public static final String Settings = "Settings Menu Scene";
     public static final String Information = "Information Menu Scene";
     public static final String SongEditor = "Song Editor Scene";
+    public static final String Calibration = "Calibration Scene";
+    public static final String Loading = "Loading Scene";
 }
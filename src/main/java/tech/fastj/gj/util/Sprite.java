@@ -0,0 +1,173 @@
+package tech.fastj.gj.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Something drawn once into an image and then copied to the screen, rather than filled and stroked every frame.
+ * <p>
+ * The image is drawn at the scale of the screen it's copied to, so it stays sharp at any resolution or DPI, and it's
+ * drawn again whenever that scale or the screen changes. Where the graphics pipeline allows it, the image is a
+ * {@link VolatileImage}, kept in video memory; otherwise it's a {@link BufferedImage} compatible with the screen.
+ * <p>
+ * Sprites are only drawn from the game loop thread. Get them from the {@link SpriteCache}, so every user of the same
+ * sprite shares one image.
+ */
+public class Sprite {
+
+    private static final AffineTransform IdentityTransform = new AffineTransform();
+    private static final int NonTranslatingTransform = AffineTransform.TYPE_GENERAL_ROTATION
+        | AffineTransform.TYPE_QUADRANT_ROTATION
+        | AffineTransform.TYPE_FLIP
+        | AffineTransform.TYPE_GENERAL_TRANSFORM;
+
+    private final Rectangle2D.Float bounds;
+    private final Painter painter;
+
+    private GraphicsConfiguration configuration;
+    private double scaleX;
+    private double scaleY;
+    private int offsetX;
+    private int offsetY;
+    private VolatileImage volatileImage;
+    private BufferedImage bufferedImage;
+
+    /**
+     * Creates a sprite. Nothing is drawn until the sprite is first copied to the screen.
+     *
+     * @param bounds  The area the painter draws in, in the sprite's local space. Anything outside it is cut off.
+     * @param painter Draws the sprite, in its local space.
+     */
+    Sprite(Rectangle2D.Float bounds, Painter painter) {
+        this.bounds = bounds;
+        this.painter = painter;
+    }
+
+    /**
+     * Copies the sprite to the screen.
+     * <p>
+     * To keep the copy a plain image copy, {@code g} must have the identity transform, with the transform the sprite
+     * would otherwise be drawn in given separately. If that transform rotates or flips, the sprite is drawn without
+     * its image, the same as it would be without a sprite.
+     *
+     * @param g               The graphics to draw with, whose transform must be the identity.
+     * @param deviceTransform The transform from the space {@code x} and {@code y} are in to the screen.
+     * @param x               The x position of the sprite's local origin.
+     * @param y               The y position of the sprite's local origin.
+     */
+    public void draw(Graphics2D g, AffineTransform deviceTransform, double x, double y) {
+        if ((deviceTransform.getType() & NonTranslatingTransform) != 0) {
+            g.setTransform(deviceTransform);
+            g.translate(x, y);
+            painter.paint(g);
+            g.setTransform(IdentityTransform);
+            return;
+        }
+
+        GraphicsConfiguration deviceConfiguration = g.getDeviceConfiguration();
+        double deviceScaleX = deviceTransform.getScaleX();
+        double deviceScaleY = deviceTransform.getScaleY();
+        if (deviceConfiguration != configuration || deviceScaleX != scaleX || deviceScaleY != scaleY) {
+            rasterize(deviceConfiguration, deviceScaleX, deviceScaleY);
+        }
+
+        int drawX = (int) Math.round(deviceScaleX * x + deviceTransform.getTranslateX()) + offsetX;
+        int drawY = (int) Math.round(deviceScaleY * y + deviceTransform.getTranslateY()) + offsetY;
+
+        if (volatileImage == null) {
+            g.drawImage(bufferedImage, drawX, drawY, null);
+            return;
+        }
+
+        int validation = volatileImage.validate(configuration);
+        if (validation == VolatileImage.IMAGE_INCOMPATIBLE) {
+            rasterize(configuration, scaleX, scaleY);
+        } else if (validation == VolatileImage.IMAGE_RESTORED) {
+            paint(volatileImage);
+        }
+
+        Image image = volatileImage != null ? volatileImage : bufferedImage;
+        g.drawImage(image, drawX, drawY, null);
+
+        // lost contents are drawn again by the next validation
+        if (volatileImage != null && volatileImage.contentsLost()) {
+            configuration = null;
+        }
+    }
+
+    /** Drops the sprite's image, so it's drawn again the next time the sprite is used. */
+    public void invalidate() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+
+        if (bufferedImage != null) {
+            bufferedImage.flush();
+            bufferedImage = null;
+        }
+
+        configuration = null;
+    }
+
+    private void rasterize(GraphicsConfiguration deviceConfiguration, double deviceScaleX, double deviceScaleY) {
+        invalidate();
+        configuration = deviceConfiguration;
+        scaleX = deviceScaleX;
+        scaleY = deviceScaleY;
+
+        offsetX = (int) Math.floor(bounds.x * scaleX);
+        offsetY = (int) Math.floor(bounds.y * scaleY);
+        int width = Math.max((int) Math.ceil((bounds.x + bounds.width) * scaleX) - offsetX, 1);
+        int height = Math.max((int) Math.ceil((bounds.y + bounds.height) * scaleY) - offsetY, 1);
+
+        if (configuration != null) {
+            try {
+                volatileImage = configuration.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+            } catch (UnsupportedOperationException | IllegalArgumentException exception) {
+                volatileImage = null;
+            }
+        }
+
+        if (volatileImage != null) {
+            volatileImage.validate(configuration);
+            paint(volatileImage);
+        } else {
+            bufferedImage = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            paint(bufferedImage);
+        }
+    }
+
+    private void paint(Image image) {
+        Graphics2D graphics = (Graphics2D) image.getGraphics();
+
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, image.getWidth(null), image.getHeight(null));
+        graphics.setComposite(AlphaComposite.SrcOver);
+
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        graphics.translate(-offsetX, -offsetY);
+        graphics.scale(scaleX, scaleY);
+
+        painter.paint(graphics);
+        graphics.dispose();
+    }
+
+    /** Draws a sprite in its local space. */
+    @FunctionalInterface
+    public interface Painter {
+        void paint(Graphics2D g);
+    }
+}
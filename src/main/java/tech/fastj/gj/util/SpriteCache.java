@@ -0,0 +1,75 @@
+package tech.fastj.gj.util;
+
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every {@link Sprite} in the game, so anything drawn the same way shares one image.
+ * <p>
+ * Sprites are keyed by what they show -- their kind, size, colors and label -- and each one redraws its own image for
+ * the screen scale it's copied at, so a change in resolution or DPI redraws the images rather than adding to the
+ * cache. The cache is only used from the game loop thread.
+ */
+public class SpriteCache {
+
+    private static final SpriteCache Instance = new SpriteCache();
+
+    private final Map<SpriteKey, Sprite> sprites;
+
+    SpriteCache() {
+        this.sprites = new HashMap<>();
+    }
+
+    public static SpriteCache getInstance() {
+        return Instance;
+    }
+
+    /**
+     * Gets the sprite for the provided key, creating it if it doesn't exist yet.
+     *
+     * @param key     What the sprite shows.
+     * @param bounds  The area the painter draws in, in the sprite's local space. Only used if the sprite is created.
+     * @param painter Draws the sprite. Only used if the sprite is created.
+     * @return The sprite.
+     */
+    public Sprite get(SpriteKey key, Rectangle2D.Float bounds, Sprite.Painter painter) {
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            sprite = new Sprite(bounds, painter);
+            sprites.put(key, sprite);
+        }
+
+        return sprite;
+    }
+
+    /** Drops every sprite's image, so each is drawn again the next time it's used. */
+    public void invalidate() {
+        for (Sprite sprite : sprites.values()) {
+            sprite.invalidate();
+        }
+    }
+
+    /** Drops every sprite, freeing their images. */
+    public void clear() {
+        invalidate();
+        sprites.clear();
+    }
+
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * What a sprite shows.
+     *
+     * @param kind         The kind of thing the sprite shows, such as {@code "note"}.
+     * @param size         The size of the thing shown.
+     * @param fillArgb     The thing's fill color.
+     * @param outlineArgb  The thing's outline color.
+     * @param outlineWidth The width of the thing's outline.
+     * @param label        The thing's label, or an empty string if it has none.
+     */
+    public record SpriteKey(String kind, float size, int fillArgb, int outlineArgb, float outlineWidth, String label) {
+    }
+}
@@ -0,0 +1,196 @@
+package tech.fastj.gj.util;
+
+import tech.fastj.logging.Log;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs tasks at precise {@link System#nanoTime()} targets, such as starting a song's music after its lead-in.
+ * <p>
+ * One daemon thread serves every scheduled task. It parks until shortly before the earliest target, then spin-waits
+ * the rest of the way, so tasks start well within a millisecond of their target instead of whenever a timed wakeup
+ * happens to land. How late each task actually started is recorded on its {@link ScheduledStart} and summarized by the
+ * service.
+ * <p>
+ * Tasks run on the timing thread, one after another, so they should only kick off work -- starting playback, firing a
+ * cue -- rather than do it.
+ */
+public class TimingService {
+
+    private static final TimingService Instance = new TimingService();
+
+    /** How long before a target the timing thread stops parking and starts spin-waiting. */
+    private static final long SpinThresholdNanos = 2_000_000L;
+
+    private final PriorityQueue<ScheduledStart> scheduledStarts = new PriorityQueue<>();
+    private Thread timingThread;
+
+    private long startCount;
+    private long totalLatenessNanos;
+    private long maxLatenessNanos;
+    private long lastLatenessNanos;
+
+    private TimingService() {
+    }
+
+    public static TimingService getInstance() {
+        return Instance;
+    }
+
+    /**
+     * Schedules a task to run at the provided time.
+     *
+     * @param targetNanos The {@link System#nanoTime()} value to run the task at. Targets in the past run immediately.
+     * @param task        The task to run.
+     * @return The scheduled start, which can be used to cancel the task or check how late it ran.
+     */
+    public ScheduledStart schedule(long targetNanos, Runnable task) {
+        ScheduledStart scheduledStart = new ScheduledStart(this, targetNanos, task);
+
+        synchronized (this) {
+            scheduledStarts.add(scheduledStart);
+
+            if (timingThread == null) {
+                timingThread = new Thread(this::run, "timing-service");
+                timingThread.setDaemon(true);
+                timingThread.setPriority(Thread.MAX_PRIORITY);
+                timingThread.start();
+            }
+        }
+
+        // the new start may be earlier than whatever the thread is parked for
+        LockSupport.unpark(timingThread);
+        return scheduledStart;
+    }
+
+    /** Gets the number of tasks that have been started. */
+    public synchronized long getStartCount() {
+        return startCount;
+    }
+
+    /** Gets how late the most recently started task was, in nanoseconds. */
+    public synchronized long getLastLatenessNanos() {
+        return lastLatenessNanos;
+    }
+
+    /** Gets how late the latest-running task was, in nanoseconds. */
+    public synchronized long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    /** Gets how late tasks started on average, in nanoseconds. */
+    public synchronized double getMeanLatenessNanos() {
+        return startCount == 0L ? 0d : (double) totalLatenessNanos / startCount;
+    }
+
+    private synchronized boolean cancel(ScheduledStart scheduledStart) {
+        if (scheduledStart.state != ScheduledStart.Pending) {
+            return false;
+        }
+
+        scheduledStart.state = ScheduledStart.Cancelled;
+        scheduledStarts.remove(scheduledStart);
+        return true;
+    }
+
+    private void run() {
+        while (true) {
+            ScheduledStart next;
+            synchronized (this) {
+                next = scheduledStarts.peek();
+            }
+
+            if (next == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            long remaining = next.targetNanos - System.nanoTime();
+            if (remaining > SpinThresholdNanos) {
+                // wakes early on unpark, so an earlier start or a cancellation is picked up on the next pass
+                LockSupport.parkNanos(this, remaining - SpinThresholdNanos);
+                continue;
+            }
+
+            while (System.nanoTime() < next.targetNanos) {
+                Thread.onSpinWait();
+            }
+
+            synchronized (this) {
+                if (scheduledStarts.peek() != next) {
+                    continue;
+                }
+
+                scheduledStarts.poll();
+                next.state = ScheduledStart.Started;
+            }
+
+            long latenessNanos = System.nanoTime() - next.targetNanos;
+            next.latenessNanos = latenessNanos;
+            recordLateness(latenessNanos);
+
+            try {
+                next.task.run();
+            } catch (Exception exception) {
+                Log.error(TimingService.class, "Scheduled task failed", exception);
+            }
+        }
+    }
+
+    private synchronized void recordLateness(long latenessNanos) {
+        startCount++;
+        totalLatenessNanos += latenessNanos;
+        maxLatenessNanos = Math.max(maxLatenessNanos, latenessNanos);
+        lastLatenessNanos = latenessNanos;
+    }
+
+    /** A task scheduled with the {@link TimingService}. */
+    public static final class ScheduledStart implements Comparable<ScheduledStart> {
+
+        private static final int Pending = 0;
+        private static final int Started = 1;
+        private static final int Cancelled = 2;
+
+        private final TimingService timingService;
+        private final long targetNanos;
+        private final Runnable task;
+
+        private int state = Pending;
+        private volatile long latenessNanos = -1L;
+
+        private ScheduledStart(TimingService timingService, long targetNanos, Runnable task) {
+            this.timingService = timingService;
+            this.targetNanos = targetNanos;
+            this.task = task;
+        }
+
+        /** Gets the {@link System#nanoTime()} value the task is scheduled for. */
+        public long getTargetNanos() {
+            return targetNanos;
+        }
+
+        /**
+         * Gets how late the task started.
+         *
+         * @return The task's lateness in nanoseconds, or {@code -1} if it hasn't started.
+         */
+        public long getLatenessNanos() {
+            return latenessNanos;
+        }
+
+        /**
+         * Cancels the task if it hasn't started yet.
+         *
+         * @return Whether the task was cancelled.
+         */
+        public boolean cancel() {
+            return timingService.cancel(this);
+        }
+
+        @Override
+        public int compareTo(ScheduledStart other) {
+            return Long.compare(targetNanos, other.targetNanos);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package tech.fastj.gj.library;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SongLibraryTest {
+
+    private static final long WaitMillis = 10_000L;
+    private static final String NoteData = "\"notes\": [1.0, 2.0, 3.0], \"noteLanes\": [1, 2, 1], \"laneKeys\": {\"1\": \"D\", \"2\": \"F\"}";
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void badChartsAreSkippedWithoutStoppingTheWatcher() throws IOException, InterruptedException {
+        Path songsDirectory = Files.createDirectories(tempDirectory.resolve("json"));
+        writeChart(songsDirectory, "Missing Tempo.json", "{\"songName\": \"Missing Tempo\", " + NoteData + "}");
+        writeChart(songsDirectory, "Unordered Tempo.json", "{\"songName\": \"Unordered Tempo\", \"bpm\": 120.0, "
+            + "\"tempoChanges\": [{\"beat\": 8.0, \"bpm\": 140.0}, {\"beat\": 4.0, \"bpm\": 100.0}], " + NoteData + "}");
+        writeChart(songsDirectory, "Wrong Shape.json", "{\"songName\": \"Wrong Shape\", \"bpm\": 120.0, \"notes\": {\"first\": 1}}");
+        writeChart(songsDirectory, "First.json", chart("First Song"));
+
+        SongLibrary songLibrary = new SongLibrary(songsDirectory, tempDirectory.resolve("song-index.bin"));
+        songLibrary.start();
+        awaitSongNames(songLibrary, List.of("First Song"));
+
+        // a bad chart added while the library is watching is skipped too, and later charts still show up
+        writeChart(songsDirectory, "Added Missing Tempo.json", "{\"songName\": \"Added Missing Tempo\", " + NoteData + "}");
+        writeChart(songsDirectory, "Second.json", chart("Second Song"));
+        awaitSongNames(songLibrary, List.of("First Song", "Second Song"));
+    }
+
+    private static String chart(String songName) {
+        return "{\"songName\": \"" + songName + "\", \"bpm\": 120.0, \"musicPath\": \"audio/song.ogg\", " + NoteData + "}";
+    }
+
+    private static void writeChart(Path songsDirectory, String fileName, String chart) throws IOException {
+        Files.writeString(songsDirectory.resolve(fileName), chart, StandardCharsets.UTF_8);
+    }
+
+    private static void awaitSongNames(SongLibrary songLibrary, List<String> expectedSongNames) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WaitMillis;
+        List<String> songNames = songNames(songLibrary);
+
+        while (!songNames.equals(expectedSongNames) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+            songNames = songNames(songLibrary);
+        }
+
+        assertEquals(expectedSongNames, songNames);
+    }
+
+    private static List<String> songNames(SongLibrary songLibrary) {
+        return songLibrary.getSongs().stream().map(SongMetadata::songName).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package tech.fastj.gj.library;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SongSearchIndexTest {
+
+    private static final SongSearchIndex SearchIndex = SongSearchIndex.build(List.of(
+        song("Ladybird"),
+        song("Stack Attack is Back"),
+        song("Letter to the Hand Man"),
+        song("Attack of the Tacos")
+    ));
+
+    @Test
+    void queriesOfEveryLengthMatchAnywhereInTheName() {
+        assertArrayEquals(new int[] {1, 3}, SearchIndex.search("ta"));
+        assertArrayEquals(new int[] {1, 3}, SearchIndex.search("tac"));
+        assertArrayEquals(new int[] {0}, SearchIndex.search("y"));
+        assertArrayEquals(new int[] {1, 3}, SearchIndex.search("attack"));
+        assertArrayEquals(new int[] {1}, SearchIndex.search("k is"));
+    }
+
+    @Test
+    void matchingIgnoresCaseAndSurroundingSpace() {
+        assertArrayEquals(new int[] {2}, SearchIndex.search("  HAND "));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, SearchIndex.search(" "));
+    }
+
+    @Test
+    void typingMoreOfAQueryOnlyNarrowsItsResults() {
+        for (String query : List.of("stack attack", "tacos", "letter", "ladybird", "the hand")) {
+            int[] previousResults = SearchIndex.search("");
+            for (int length = 1; length <= query.length(); length++) {
+                String prefix = query.substring(0, length);
+                int[] results = SearchIndex.search(prefix);
+                for (int result : results) {
+                    assertTrue(Arrays.binarySearch(previousResults, result) >= 0, "\"" + prefix + "\" matched a song its prefix didn't");
+                }
+
+                previousResults = results;
+            }
+        }
+    }
+
+    @Test
+    void queryMissingFromEveryNameMatchesNothing() {
+        assertArrayEquals(new int[0], SearchIndex.search("q"));
+        assertArrayEquals(new int[0], SearchIndex.search("attacks"));
+    }
+
+    private static SongMetadata song(String songName) {
+        return new SongMetadata(Path.of(songName + ".json"), songName, "", 120d, 0, 0d, 4, 0L, 0L, 0L);
+    }
+}
@@ -0,0 +1,58 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.input.keyboard.Keys;
+
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConductorFinishedEventTest {
+
+    private static final int NoteCount = 4;
+
+    @Test
+    void notesLeftUnjudgedAtTheFinishCountTowardsTheGrade() {
+        SongInfo songInfo = createSong();
+        songInfo.prepare();
+
+        // the song finishes right on its last note, before the miss sweep has reached the notes left unpressed
+        double finishTime = songInfo.getNoteTime(NoteCount - 1);
+        TimingSnapshot[] timingSnapshot = {null};
+        GameInputMatcher inputMatcher = new GameInputMatcher(
+            null,
+            () -> timingSnapshot[0],
+            new ConductorMetrics(),
+            songInfo,
+            new JudgmentProfile("Test", 20d, 40d, 80d, 120d)
+        );
+
+        for (int i = 0; i < 2; i++) {
+            timingSnapshot[0] = new TimingSnapshot(0L, songInfo.getNoteTime(i), songInfo.getNote(i), songInfo.getTempoMap(), true);
+            inputMatcher.capturePress(System.nanoTime(), songInfo.getLaneKey(songInfo.getNoteLane(i)));
+            inputMatcher.processInputs();
+        }
+        inputMatcher.sweepMisses(finishTime);
+
+        inputMatcher.missRemainingNotes();
+        ConductorFinishedEvent event = new ConductorFinishedEvent(NoteCount, inputMatcher.scoreKeeper());
+
+        assertEquals(2, event.getNotesPerfect());
+        assertEquals(2, event.getNotesMissed());
+        assertEquals(inputMatcher.scoreKeeper().getCount(Judgment.Miss), event.getNotesMissed());
+        assertEquals(0.5d, event.getAccuracy());
+        assertEquals(Grade.fromAccuracy(0.5d), event.getGrade());
+    }
+
+    private static SongInfo createSong() {
+        double[] notes = new double[NoteCount];
+        for (int i = 0; i < NoteCount; i++) {
+            notes[i] = i;
+        }
+
+        TreeMap<Integer, Keys> laneKeys = new TreeMap<>();
+        laneKeys.put(0, Keys.D);
+        return new SongInfo("Finished Event Test", 120d, 4, 0d, notes, new int[NoteCount], laneKeys, "");
+    }
+}
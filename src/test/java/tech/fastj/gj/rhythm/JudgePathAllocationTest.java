@@ -0,0 +1,123 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.gj.ui.Notice;
+import tech.fastj.gj.ui.NoticePool;
+import tech.fastj.graphics.display.FastJCanvas;
+import tech.fastj.input.keyboard.Keys;
+import tech.fastj.math.Pointf;
+import tech.fastj.systems.control.Scene;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.util.TreeMap;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that judging a lane press allocates nothing, from the press being captured through to its feedback being
+ * shown by a {@link NoticePool}.
+ */
+class JudgePathAllocationTest {
+
+    private static final int NoteCount = 512;
+    private static final int WarmupRounds = 200;
+    private static final Keys[] LaneKeys = {Keys.D, Keys.F, Keys.J, Keys.K};
+
+    @Test
+    void judgingPressesAndShowingTheirFeedbackDoesNotAllocate() {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "thread allocation measurement is unsupported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        SongInfo songInfo = createSong();
+        songInfo.prepare();
+
+        // each press is timed exactly on its note, against a paused snapshot so the judgment doesn't depend on timing
+        TimingSnapshot[] snapshots = new TimingSnapshot[NoteCount];
+        for (int i = 0; i < NoteCount; i++) {
+            snapshots[i] = new TimingSnapshot(0L, songInfo.getNoteTime(i), songInfo.getNote(i), songInfo.getTempoMap(), true);
+        }
+
+        int[] pressedNote = new int[1];
+        GameInputMatcher inputMatcher = new GameInputMatcher(
+            null,
+            () -> snapshots[pressedNote[0]],
+            new ConductorMetrics(),
+            songInfo,
+            new JudgmentProfile("Test", 20d, 40d, 80d, 120d)
+        );
+        NoticePool judgmentNotices = new NoticePool(new TestScene(), new Pointf(20f, 40f), Notice.DefaultFont, 8);
+
+        for (int i = 0; i < WarmupRounds; i++) {
+            playThrough(inputMatcher, songInfo, pressedNote, judgmentNotices);
+            inputMatcher.seek(0d);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long measurementStart = threadBean.getThreadAllocatedBytes(threadId);
+        long measurementEnd = threadBean.getThreadAllocatedBytes(threadId);
+        long measurementOverhead = measurementEnd - measurementStart;
+
+        int perfectCount = inputMatcher.scoreKeeper().getCount(Judgment.Perfect);
+        long allocatedStart = threadBean.getThreadAllocatedBytes(threadId);
+        playThrough(inputMatcher, songInfo, pressedNote, judgmentNotices);
+        long allocatedEnd = threadBean.getThreadAllocatedBytes(threadId);
+
+        assertEquals(NoteCount, inputMatcher.scoreKeeper().getCount(Judgment.Perfect) - perfectCount, "every press should be judged perfect");
+        assertEquals(0L, allocatedEnd - allocatedStart - measurementOverhead, "bytes allocated judging " + NoteCount + " presses");
+    }
+
+    /** Presses every note of the song on time, judging and showing each press as its own update would. */
+    private static void playThrough(GameInputMatcher inputMatcher, SongInfo songInfo, int[] pressedNote, NoticePool judgmentNotices) {
+        JudgmentQueue judgmentQueue = inputMatcher.judgmentQueue();
+
+        for (int i = 0; i < NoteCount; i++) {
+            pressedNote[0] = i;
+            inputMatcher.capturePress(System.nanoTime(), songInfo.getLaneKey(songInfo.getNoteLane(i)));
+            inputMatcher.processInputs();
+
+            JudgmentFeedback feedback;
+            while ((feedback = judgmentQueue.poll()) != null) {
+                judgmentNotices.show(feedback.getMessage(), feedback == JudgmentFeedback.Perfect ? Color.green : Color.red);
+            }
+        }
+    }
+
+    private static SongInfo createSong() {
+        double[] notes = new double[NoteCount];
+        int[] noteLanes = new int[NoteCount];
+        for (int i = 0; i < NoteCount; i++) {
+            notes[i] = i * 0.5d;
+            noteLanes[i] = (i % LaneKeys.length) + 1;
+        }
+
+        TreeMap<Integer, Keys> laneKeys = new TreeMap<>();
+        for (int i = 0; i < LaneKeys.length; i++) {
+            laneKeys.put(i + 1, LaneKeys[i]);
+        }
+
+        return new SongInfo("Allocation Test", 120d, 4, 0d, notes, noteLanes, laneKeys, "");
+    }
+
+    private static class TestScene extends Scene {
+        TestScene() {
+            super("Allocation Test Scene");
+        }
+
+        @Override
+        public void load(FastJCanvas canvas) {
+        }
+
+        @Override
+        public void unload(FastJCanvas canvas) {
+        }
+
+        @Override
+        public void update(FastJCanvas canvas) {
+        }
+    }
+}
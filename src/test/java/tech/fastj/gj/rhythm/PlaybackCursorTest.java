@@ -0,0 +1,55 @@
+package tech.fastj.gj.rhythm;
+
+import tech.fastj.input.keyboard.Keys;
+
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PlaybackCursorTest {
+
+    @Test
+    void seekLandsOnTheFirstOfNotesSharingABeat() {
+        SongInfo songInfo = createSong(new double[] {0d, 1d, 2d, 2d, 2d, 3d});
+        PlaybackCursor playbackCursor = new PlaybackCursor(songInfo);
+
+        playbackCursor.seek(2d);
+        assertEquals(2, playbackCursor.getNextIndex());
+
+        playbackCursor.seek(1.5d);
+        assertEquals(2, playbackCursor.getNextIndex());
+
+        playbackCursor.seek(2.5d);
+        assertEquals(5, playbackCursor.getNextIndex());
+    }
+
+    @Test
+    void seekAgreesWithNoteLookup() {
+        SongInfo songInfo = createSong(new double[] {0d, 0d, 0.5d, 1d, 1d, 1.25d, 4d, 4d});
+        PlaybackCursor playbackCursor = new PlaybackCursor(songInfo);
+
+        for (double beat = -1d; beat <= 5d; beat += 0.125d) {
+            playbackCursor.seek(beat);
+            assertEquals(songInfo.findIndex(beat), playbackCursor.getNextIndex(), "index at beat " + beat);
+        }
+    }
+
+    @Test
+    void seekPastTheLastNoteLeavesNothingToSpawn() {
+        SongInfo songInfo = createSong(new double[] {0d, 1d});
+        PlaybackCursor playbackCursor = new PlaybackCursor(songInfo);
+
+        playbackCursor.seek(8d);
+        assertEquals(songInfo.getNotesLength(), playbackCursor.getNextIndex());
+        assertFalse(playbackCursor.hasNext());
+    }
+
+    private static SongInfo createSong(double[] notes) {
+        TreeMap<Integer, Keys> laneKeys = new TreeMap<>();
+        laneKeys.put(0, Keys.D);
+        return new SongInfo("Playback Cursor Test", 120d, 4, 0d, notes, new int[notes.length], laneKeys, "");
+    }
+}
@@ -0,0 +1,42 @@
+package tech.fastj.gj.user;
+
+import tech.fastj.gj.rhythm.JudgmentProfile;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserSettingsTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    void pickedJudgmentProfileIsLoadedAgainAfterSaving() {
+        UserSettings settings = new UserSettings();
+        settings.setJudgmentProfile(JudgmentProfile.Lenient);
+
+        UserSettings reloadedSettings = gson.fromJson(gson.toJson(settings), UserSettings.class);
+        assertEquals(JudgmentProfile.load(JudgmentProfile.Lenient), reloadedSettings.getJudgmentProfile());
+    }
+
+    @Test
+    void judgmentProfileSavedByDisplayNameIsStillLoaded() {
+        UserSettings settings = gson.fromJson("{\"judgmentProfileName\": \"Lenient\"}", UserSettings.class);
+        assertEquals(JudgmentProfile.load(JudgmentProfile.Lenient), settings.getJudgmentProfile());
+    }
+
+    @Test
+    void unknownJudgmentProfileFallsBackToStandard() {
+        UserSettings settings = gson.fromJson("{\"judgmentProfileName\": \"missing\"}", UserSettings.class);
+        assertEquals(JudgmentProfile.load(JudgmentProfile.Standard), settings.getJudgmentProfile());
+    }
+
+    @Test
+    void pickingUnknownJudgmentProfileFails() {
+        UserSettings settings = new UserSettings();
+        assertThrows(IllegalStateException.class, () -> settings.setJudgmentProfile("missing"));
+        assertEquals(JudgmentProfile.load(JudgmentProfile.Standard), settings.getJudgmentProfile());
+    }
+}